@@ -62,6 +62,10 @@ object Config {
         }
 
         const val JAVET_SWC4J = "com.caoccao.javet:swc4j:${Versions.JAVET_SWC4J}"
+
+        // https://mvnrepository.com/artifact/org.openjdk.jmh/jmh-core
+        const val JMH_CORE = "org.openjdk.jmh:jmh-core:${Versions.JMH}"
+        const val JMH_GENERATOR_ANNPROCESS = "org.openjdk.jmh:jmh-generator-annprocess:${Versions.JMH}"
     }
 
     object Versions {
@@ -70,6 +74,7 @@ object Config {
         const val JAVET = "4.1.1"
         const val JAVET_BUDDY = "0.5.0"
         const val JAVET_SWC4J = "1.3.0"
+        const val JMH = "1.37"
         const val JUNIT = "5.11.3"
     }
 }
@@ -90,6 +95,16 @@ repositories {
     mavenCentral()
 }
 
+sourceSets {
+    create("jmh") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
+val jmhImplementation: Configuration by configurations.getting
+val jmhAnnotationProcessor: Configuration by configurations.getting
+
 dependencies {
     compileOnly(Config.Projects.JAVET)
     testImplementation(Config.Projects.JAVET)
@@ -99,6 +114,12 @@ dependencies {
     testImplementation(Config.Projects.JAVET_SWC4J)
     compileOnly(Config.Projects.BYTE_BUDDY)
     testImplementation(Config.Projects.BYTE_BUDDY)
+    jmhImplementation(Config.Projects.JAVET)
+    jmhImplementation(Config.Projects.JAVET_BINARY())
+    jmhImplementation(Config.Projects.JAVET_SWC4J)
+    jmhImplementation(Config.Projects.BYTE_BUDDY)
+    jmhImplementation(Config.Projects.JMH_CORE)
+    jmhAnnotationProcessor(Config.Projects.JMH_GENERATOR_ANNPROCESS)
 }
 
 testing {
@@ -136,6 +157,22 @@ tasks {
     withType<Test> {
         systemProperty("file.encoding", "UTF-8")
     }
+    register<JavaExec>("jmh") {
+        group = "benchmark"
+        description = "Runs the JMH benchmarks, e.g. gradlew jmh -Pjmh.includes=Ts2JavaPipeline"
+        dependsOn("jmhClasses")
+        classpath = sourceSets["jmh"].runtimeClasspath
+        mainClass.set("org.openjdk.jmh.Main")
+        workingDir = projectDir
+        val includes = project.findProperty("jmh.includes")?.toString()
+        args = listOfNotNull(includes) + listOf(
+            "-rf", "json",
+            "-rff", "$buildDir/reports/jmh/results.json",
+        )
+        doFirst {
+            file("$buildDir/reports/jmh").mkdirs()
+        }
+    }
     withType<GenerateMavenPom> {
         destination = file("$buildDir/libs/${Config.Pom.ARTIFACT_ID}-${Config.VERSION}.pom")
     }
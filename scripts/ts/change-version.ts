@@ -100,6 +100,9 @@ class ChangeVersion {
     this._change(".github/workflows/build.yml", [
       /^\s*JAVET_BUDDY_VERSION:\s*(?<version>\d+\.\d+\.\d+)/gim,
     ]);
+    this._change("src/main/java/com/caoccao/javet/buddy/ts2java/Ts2Java.java", [
+      /^\s*public static final String JAVET_BUDDY_VERSION = "(?<version>\d+\.\d+\.\d+)"/gim,
+    ]);
   }
 }
 
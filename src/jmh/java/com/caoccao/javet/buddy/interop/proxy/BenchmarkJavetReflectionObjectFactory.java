@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.interop.proxy;
+
+import com.caoccao.javet.interop.V8Host;
+import com.caoccao.javet.interop.V8Runtime;
+import com.caoccao.javet.interop.converters.JavetProxyConverter;
+import com.caoccao.javet.values.reference.V8ValueObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkJavetReflectionObjectFactory {
+    protected static final String JS_CODE = "({\n" +
+            "  add: (a, b) => a + b,\n" +
+            "  addBoxed: (a, b) => a + b,\n" +
+            "  getTitle: 'b',\n" +
+            "  increment: (n) => $super.increment(n) + 1,\n" +
+            "  value: 1,\n" +
+            "})";
+
+    @Benchmark
+    public MockObject benchmarkCreateByExtend(CreationState state) throws Exception {
+        return state.factory.extend(MockObject.class, state.v8ValueObject).getConstructor().newInstance();
+    }
+
+    @Benchmark
+    public MockObject benchmarkCreateByToObject(CreationState state) throws Exception {
+        MockObject mockObject = (MockObject) state.factory.toObject(MockObject.class, state.v8ValueObject);
+        ((AutoCloseable) mockObject).close();
+        return mockObject;
+    }
+
+    @Benchmark
+    public int benchmarkExtendFunction(DispatchState state) {
+        return state.extendObject.add(state.a, state.b);
+    }
+
+    @Benchmark
+    public int benchmarkExtendGetter(DispatchState state) {
+        return state.extendObject.getValue();
+    }
+
+    @Benchmark
+    public String benchmarkExtendNonIntercepted(DispatchState state) {
+        return state.extendObject.getDescription();
+    }
+
+    @Benchmark
+    public int benchmarkExtendSuper(DispatchState state) {
+        return state.extendObject.increment(state.a);
+    }
+
+    @Benchmark
+    public int benchmarkFunction(DispatchState state) {
+        return state.invocationObject.add(state.a, state.b);
+    }
+
+    @Benchmark
+    public Integer benchmarkFunctionBoxedArguments(DispatchState state) {
+        // The boxed parameters take the converter path, compared to the primitive ones of benchmarkFunction.
+        return state.invocationObject.addBoxed(state.a, state.b);
+    }
+
+    @Benchmark
+    public int benchmarkGetter(DispatchState state) {
+        return state.invocationObject.getValue();
+    }
+
+    @Benchmark
+    public String benchmarkNonIntercepted(DispatchState state) {
+        return state.invocationObject.getDescription();
+    }
+
+    @Benchmark
+    public String benchmarkPropertyRead(DispatchState state) {
+        return state.invocationObject.getTitle();
+    }
+
+    @Benchmark
+    public void benchmarkSetter(DispatchState state) {
+        state.invocationObject.setValue(state.a);
+    }
+
+    @Benchmark
+    public int benchmarkSuper(DispatchState state) {
+        return state.invocationObject.increment(state.a);
+    }
+
+    @State(Scope.Thread)
+    public static class BaseState {
+        protected JavetReflectionObjectFactory factory;
+        protected V8Runtime v8Runtime;
+        protected V8ValueObject v8ValueObject;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            factory = JavetReflectionObjectFactory.getInstance();
+            v8Runtime = V8Host.getV8Instance().createV8Runtime();
+            JavetProxyConverter javetProxyConverter = new JavetProxyConverter();
+            javetProxyConverter.getConfig().setReflectionObjectFactory(factory);
+            v8Runtime.setConverter(javetProxyConverter);
+            v8ValueObject = v8Runtime.getExecutor(JS_CODE).execute();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            factory.clear();
+            v8ValueObject.close();
+            v8Runtime.lowMemoryNotification();
+            v8Runtime.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class CreationState extends BaseState {
+        // Every creation registers a handler, so the handlers are released per iteration.
+        @TearDown(Level.Iteration)
+        public void tearDownIteration() throws Exception {
+            factory.clear();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class DispatchState extends BaseState {
+        protected int a;
+        protected int b;
+        protected MockObject extendObject;
+        protected MockObject invocationObject;
+
+        @Setup(Level.Trial)
+        public void setUpObjects() throws Exception {
+            a = 1;
+            b = 2;
+            invocationObject = (MockObject) factory.toObject(MockObject.class, v8ValueObject);
+            extendObject = factory.extend(MockObject.class, v8ValueObject).getConstructor().newInstance();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDownObjects() {
+            invocationObject = null;
+            extendObject = null;
+        }
+    }
+
+    public static class MockObject {
+        public int add(int a, int b) {
+            return 0;
+        }
+
+        public Integer addBoxed(Integer a, Integer b) {
+            return 0;
+        }
+
+        public String getDescription() {
+            return "a";
+        }
+
+        public String getTitle() {
+            return "a";
+        }
+
+        public int getValue() {
+            return 0;
+        }
+
+        public int increment(int n) {
+            return n;
+        }
+
+        public void setValue(int value) {
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.ts2java;
+
+import com.caoccao.javet.exceptions.JavetException;
+import com.caoccao.javet.interop.V8Host;
+import com.caoccao.javet.interop.V8Runtime;
+import com.caoccao.javet.values.reference.V8ValueFunction;
+import com.caoccao.javet.values.reference.V8ValueObject;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkTs2JavaExecution {
+    protected static final String JS_CODE = "class Test {\n" +
+            "  add(a, b) {\n" +
+            "    return a + b;\n" +
+            "  }\n" +
+            "  clamp(a, low, high) {\n" +
+            "    if (a < low) {\n" +
+            "      return low;\n" +
+            "    }\n" +
+            "    if (a > high) {\n" +
+            "      return high;\n" +
+            "    }\n" +
+            "    return a;\n" +
+            "  }\n" +
+            "  polynomial(a, b) {\n" +
+            "    const c = a * a + b * b;\n" +
+            "    return c * 2 - a / b + 1;\n" +
+            "  }\n" +
+            "}\n" +
+            "globalThis.test = new Test();\n";
+    protected static final String TS_CODE = "class Test {\n" +
+            "  public add(a: int, b: int): int {\n" +
+            "    return a + b;\n" +
+            "  }\n" +
+            "  public clamp(a: int, low: int, high: int): int {\n" +
+            "    if (a < low) {\n" +
+            "      return low;\n" +
+            "    }\n" +
+            "    if (a > high) {\n" +
+            "      return high;\n" +
+            "    }\n" +
+            "    return a;\n" +
+            "  }\n" +
+            "  public polynomial(a: double, b: double): double {\n" +
+            "    const c: double = a * a + b * b;\n" +
+            "    return c * 2 - a / b + 1;\n" +
+            "  }\n" +
+            "}\n";
+    protected int a;
+    protected int b;
+    protected double c;
+    protected double d;
+    protected int high;
+    protected JavaTest javaTest;
+    protected MethodHandle javaAddHandle;
+    protected MethodHandle javaClampHandle;
+    protected MethodHandle javaPolynomialHandle;
+    protected int low;
+    protected MethodHandle ts2JavaAddHandle;
+    protected MethodHandle ts2JavaClampHandle;
+    protected MethodHandle ts2JavaPolynomialHandle;
+    protected V8ValueFunction v8AddFunction;
+    protected V8ValueFunction v8ClampFunction;
+    protected V8ValueFunction v8PolynomialFunction;
+    protected V8Runtime v8Runtime;
+    protected V8ValueObject v8Test;
+
+    protected static MethodHandle getMethodHandle(Object instance, String name, MethodType methodType)
+            throws ReflectiveOperationException {
+        return MethodHandles.publicLookup().findVirtual(instance.getClass(), name, methodType).bindTo(instance);
+    }
+
+    @Benchmark
+    public int benchmarkAddJava() {
+        return javaTest.add(a, b);
+    }
+
+    @Benchmark
+    public int benchmarkAddJavaMethodHandle() throws Throwable {
+        return (int) javaAddHandle.invokeExact(a, b);
+    }
+
+    @Benchmark
+    public int benchmarkAddTs2Java() throws Throwable {
+        return (int) ts2JavaAddHandle.invokeExact(a, b);
+    }
+
+    @Benchmark
+    public int benchmarkAddV8() throws JavetException {
+        return v8AddFunction.callInteger(v8Test, a, b);
+    }
+
+    @Benchmark
+    public int benchmarkClampJava() {
+        return javaTest.clamp(a, low, high);
+    }
+
+    @Benchmark
+    public int benchmarkClampJavaMethodHandle() throws Throwable {
+        return (int) javaClampHandle.invokeExact(a, low, high);
+    }
+
+    @Benchmark
+    public int benchmarkClampTs2Java() throws Throwable {
+        return (int) ts2JavaClampHandle.invokeExact(a, low, high);
+    }
+
+    @Benchmark
+    public int benchmarkClampV8() throws JavetException {
+        return v8ClampFunction.callInteger(v8Test, a, low, high);
+    }
+
+    @Benchmark
+    public double benchmarkPolynomialJava() {
+        return javaTest.polynomial(c, d);
+    }
+
+    @Benchmark
+    public double benchmarkPolynomialJavaMethodHandle() throws Throwable {
+        return (double) javaPolynomialHandle.invokeExact(c, d);
+    }
+
+    @Benchmark
+    public double benchmarkPolynomialTs2Java() throws Throwable {
+        return (double) ts2JavaPolynomialHandle.invokeExact(c, d);
+    }
+
+    @Benchmark
+    public double benchmarkPolynomialV8() throws JavetException {
+        return v8PolynomialFunction.callDouble(v8Test, c, d);
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        a = 3;
+        b = 5;
+        c = 1.5D;
+        d = 2.5D;
+        low = 0;
+        high = 4;
+        MethodType binaryIntType = MethodType.methodType(int.class, int.class, int.class);
+        MethodType ternaryIntType = MethodType.methodType(int.class, int.class, int.class, int.class);
+        MethodType binaryDoubleType = MethodType.methodType(double.class, double.class, double.class);
+        javaTest = new JavaTest();
+        javaAddHandle = getMethodHandle(javaTest, "add", binaryIntType);
+        javaClampHandle = getMethodHandle(javaTest, "clamp", ternaryIntType);
+        javaPolynomialHandle = getMethodHandle(javaTest, "polynomial", binaryDoubleType);
+        Ts2Java ts2Java = new Ts2Java(Ts2JavaBenchmarkInputs.PACKAGE_NAME, TS_CODE);
+        ts2Java.transpile();
+        Object ts2JavaTest = ts2Java.getClasses().get(0).getConstructor().newInstance();
+        ts2JavaAddHandle = getMethodHandle(ts2JavaTest, "add", binaryIntType);
+        ts2JavaClampHandle = getMethodHandle(ts2JavaTest, "clamp", ternaryIntType);
+        ts2JavaPolynomialHandle = getMethodHandle(ts2JavaTest, "polynomial", binaryDoubleType);
+        v8Runtime = V8Host.getV8Instance().createV8Runtime();
+        v8Runtime.getExecutor(JS_CODE).executeVoid();
+        v8Test = v8Runtime.getGlobalObject().get("test");
+        v8AddFunction = v8Test.get("add");
+        v8ClampFunction = v8Test.get("clamp");
+        v8PolynomialFunction = v8Test.get("polynomial");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws JavetException {
+        v8AddFunction.close();
+        v8ClampFunction.close();
+        v8PolynomialFunction.close();
+        v8Test.close();
+        v8Runtime.close();
+    }
+
+    public static class JavaTest {
+        public int add(int a, int b) {
+            return a + b;
+        }
+
+        public int clamp(int a, int low, int high) {
+            if (a < low) {
+                return low;
+            }
+            if (a > high) {
+                return high;
+            }
+            return a;
+        }
+
+        public double polynomial(double a, double b) {
+            double c = a * a + b * b;
+            return c * 2 - a / b + 1;
+        }
+    }
+}
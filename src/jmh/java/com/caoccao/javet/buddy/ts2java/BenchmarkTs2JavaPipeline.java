@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.ts2java;
+
+import com.caoccao.javet.buddy.ts2java.ast.memo.Ts2JavaMemoDynamicType;
+import com.caoccao.javet.buddy.ts2java.ast.stmt.Ts2JavaAstClassDecl;
+import com.caoccao.javet.swc4j.ast.stmt.Swc4jAstClassDecl;
+import com.caoccao.javet.swc4j.exceptions.Swc4jCoreException;
+import com.caoccao.javet.swc4j.outputs.Swc4jParseOutput;
+import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkTs2JavaPipeline {
+    protected List<Ts2JavaAstClassDecl> astClassDecls;
+    protected List<Swc4jAstClassDecl> classDecls;
+    protected Ts2JavaCompiler compiler;
+    @Param({
+            "test.assignments.ts",
+            "test.basic.operations.ts",
+            "test.logical.operations.ts",
+            "synthetic.100",
+            "synthetic.1000",
+    })
+    protected String source;
+    protected String tsCode;
+    protected List<DynamicType.Unloaded<?>> unloadedTypes;
+
+    @Benchmark
+    public List<Ts2JavaAstClassDecl> benchmarkCompile() {
+        astClassDecls.forEach(Ts2JavaAstClassDecl::compile);
+        return astClassDecls;
+    }
+
+    @Benchmark
+    public List<Ts2JavaAstClassDecl> benchmarkCreate() {
+        return create();
+    }
+
+    @Benchmark
+    public List<Class<?>> benchmarkLoad() {
+        return unloadedTypes.stream()
+                .map(unloadedType -> unloadedType.load(
+                        Ts2Java.class.getClassLoader(),
+                        ClassLoadingStrategy.Default.WRAPPER).getLoaded())
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<DynamicType.Unloaded<?>> benchmarkMake() {
+        List<DynamicType.Unloaded<?>> madeTypes = astClassDecls.stream()
+                .map(astClassDecl -> astClassDecl.getMemo().getBuilder().make())
+                .collect(Collectors.toList());
+        madeTypes.forEach(DynamicType::close);
+        return madeTypes;
+    }
+
+    @Benchmark
+    public Swc4jParseOutput benchmarkParse() throws Swc4jCoreException {
+        return compiler.parse(tsCode);
+    }
+
+    @Benchmark
+    public List<Ts2JavaAstClassDecl> benchmarkSyncLabels() {
+        astClassDecls.forEach(Ts2JavaAstClassDecl::syncLabels);
+        return astClassDecls;
+    }
+
+    @Benchmark
+    public List<Class<?>> benchmarkTranspile() throws Swc4jCoreException {
+        Ts2Java ts2Java = new Ts2Java(Ts2JavaBenchmarkInputs.PACKAGE_NAME, tsCode);
+        ts2Java.transpile();
+        return ts2Java.getClasses();
+    }
+
+    protected List<Ts2JavaAstClassDecl> create() {
+        return classDecls.stream()
+                .map(classDecl -> Ts2JavaAstClassDecl.create(
+                        null,
+                        classDecl,
+                        new Ts2JavaMemoDynamicType(new ByteBuddy()
+                                .subclass(Object.class, ConstructorStrategy.Default.DEFAULT_CONSTRUCTOR)),
+                        Ts2JavaBenchmarkInputs.PACKAGE_NAME))
+                .collect(Collectors.toList());
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, Swc4jCoreException {
+        compiler = new Ts2JavaCompiler();
+        tsCode = Ts2JavaBenchmarkInputs.getTsCode(source);
+        classDecls = new Ts2Java(Ts2JavaBenchmarkInputs.PACKAGE_NAME, tsCode).setCompiler(compiler).parse();
+        astClassDecls = new ArrayList<>();
+        unloadedTypes = new ArrayList<>();
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpInvocation(BenchmarkParams params) {
+        // Each phase mutates the AST or the builder, so a later phase gets a fresh input
+        // that has gone through all the earlier phases.
+        final String benchmark = params.getBenchmark();
+        if (benchmark.endsWith("benchmarkParse") || benchmark.endsWith("benchmarkTranspile")
+                || benchmark.endsWith("benchmarkCreate")) {
+            return;
+        }
+        astClassDecls = create();
+        if (benchmark.endsWith("benchmarkCompile")) {
+            return;
+        }
+        astClassDecls.forEach(Ts2JavaAstClassDecl::compile);
+        if (benchmark.endsWith("benchmarkSyncLabels")) {
+            return;
+        }
+        astClassDecls.forEach(Ts2JavaAstClassDecl::syncLabels);
+        if (benchmark.endsWith("benchmarkLoad")) {
+            unloadedTypes = astClassDecls.stream()
+                    .map(astClassDecl -> astClassDecl.getMemo().getBuilder().make())
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDownInvocation() {
+        unloadedTypes.forEach(DynamicType::close);
+        unloadedTypes.clear();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.ts2java;
+
+import com.caoccao.javet.utils.JavetOSUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+
+public final class Ts2JavaBenchmarkInputs {
+    public static final String PACKAGE_NAME = "com.benchmark";
+    public static final String SYNTHETIC_PREFIX = "synthetic.";
+
+    private Ts2JavaBenchmarkInputs() {
+    }
+
+    public static String getSyntheticTsCode(int methodCount) {
+        StringBuilder sb = new StringBuilder("class Test {\n");
+        for (int i = 0; i < methodCount; i++) {
+            sb.append("  public method").append(i).append("(a: int, b: int): int {\n")
+                    .append("    const c: int = a * ").append(i + 1).append(" + b;\n")
+                    .append("    if (c > b) {\n")
+                    .append("      return c - a;\n")
+                    .append("    }\n")
+                    .append("    return c + b;\n")
+                    .append("  }\n");
+        }
+        return sb.append("}\n").toString();
+    }
+
+    public static String getTsCode(String source) throws IOException {
+        if (source.startsWith(SYNTHETIC_PREFIX)) {
+            return getSyntheticTsCode(Integer.parseInt(source.substring(SYNTHETIC_PREFIX.length())));
+        }
+        Path path = new File(JavetOSUtils.WORKING_DIRECTORY).toPath()
+                .resolve("scripts/ts/test")
+                .resolve(source);
+        return Files.readAllLines(path, StandardCharsets.UTF_8).stream()
+                .filter(line -> !line.startsWith("console."))
+                .collect(Collectors.joining("\n"));
+    }
+}
@@ -16,15 +16,30 @@
 
 package com.caoccao.javet.buddy.interop.proxy;
 
+import com.caoccao.javet.exceptions.JavetException;
+import com.caoccao.javet.interop.V8Runtime;
 import com.caoccao.javet.utils.JavetResourceUtils;
+import com.caoccao.javet.values.V8Value;
+import com.caoccao.javet.values.reference.V8ValueFunction;
+import com.caoccao.javet.values.reference.V8ValueGlobalObject;
 import com.caoccao.javet.values.reference.V8ValueObject;
 import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.method.MethodDescription;
 import net.bytebuddy.dynamic.DynamicType;
 import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
+import net.bytebuddy.implementation.Implementation;
 import net.bytebuddy.implementation.MethodDelegation;
+import net.bytebuddy.matcher.ElementMatcher;
 import net.bytebuddy.matcher.ElementMatchers;
 
+import java.lang.reflect.Method;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * The type Base dynamic object handler.
@@ -52,12 +67,42 @@ public abstract class BaseDynamicObjectHandler<T> implements AutoCloseable {
      * @since 0.4.0
      */
     protected static final String SUPER = "$super";
+    /**
+     * The close listener.
+     *
+     * @since 0.5.0
+     */
+    protected Consumer<BaseDynamicObjectHandler<T>> closeListener;
+    /**
+     * The executor marshalling the calls to the owner thread of the V8 runtime, null if the calls are not marshalled.
+     *
+     * @since 0.5.0
+     */
+    protected volatile DynamicObjectExecutor executor;
+    /**
+     * The function map caches the JS functions by name.
+     *
+     * @since 0.5.0
+     */
+    protected final Map<String, V8ValueFunction> functionMap;
     /**
      * The Handle.
      *
      * @since 0.4.0
      */
     protected long handle;
+    /**
+     * The registry capturing the shape again after the handler is invalidated, null if the handler is not registered.
+     *
+     * @since 0.5.0
+     */
+    protected volatile DynamicObjectRegistry registry;
+    /**
+     * The shape of the JS object, captured when the object class is generated and again after invalidation.
+     *
+     * @since 0.5.0
+     */
+    protected DynamicObjectShape shape;
     /**
      * The Type.
      *
@@ -80,23 +125,101 @@ public abstract class BaseDynamicObjectHandler<T> implements AutoCloseable {
      * @since 0.4.0
      */
     public BaseDynamicObjectHandler(long handle, Class<T> type, V8ValueObject v8ValueObject) {
+        closeListener = null;
+        executor = null;
+        functionMap = new ConcurrentHashMap<>();
         this.handle = handle;
+        shape = null;
         this.type = Objects.requireNonNull(type);
         this.v8ValueObject = Objects.requireNonNull(v8ValueObject);
     }
 
+    /**
+     * Bind $super to the global object and return the previous value so that nested calls are reentrant.
+     *
+     * @param v8ValueSuper the V8 value super
+     * @return the previous value of $super
+     * @throws JavetException the javet exception
+     * @since 0.5.0
+     */
+    protected V8Value bindSuper(V8ValueObject v8ValueSuper) throws JavetException {
+        V8ValueGlobalObject v8ValueGlobalObject = v8ValueSuper.getV8Runtime().getGlobalObject();
+        V8Value previousV8ValueSuper = v8ValueGlobalObject.get(SUPER);
+        v8ValueGlobalObject.set(SUPER, v8ValueSuper);
+        return previousV8ValueSuper;
+    }
+
     @Override
     public void close() throws Exception {
         if (v8ValueObject != null) {
             JavetResourceUtils.safeClose(v8ValueObject);
             v8ValueObject = null;
         }
+        invalidate();
+        if (closeListener != null) {
+            Consumer<BaseDynamicObjectHandler<T>> listener = closeListener;
+            closeListener = null;
+            listener.accept(this);
+        }
     }
 
-    @Override
-    protected void finalize() throws Throwable {
-        close();
-        super.finalize();
+    /**
+     * Gets close listener.
+     *
+     * @return the close listener
+     * @since 0.5.0
+     */
+    public Consumer<BaseDynamicObjectHandler<T>> getCloseListener() {
+        return closeListener;
+    }
+
+    /**
+     * Gets the dispatch plan of the method from the shape, so that the plan is shared by the handlers
+     * whose JS objects have the same shape.
+     *
+     * @param method the method
+     * @return the dispatch plan
+     * @throws JavetException the javet exception
+     * @since 0.5.0
+     */
+    protected DynamicObjectDispatchPlan getDispatchPlan(Method method) throws JavetException {
+        return getShape().getDispatchPlan(method);
+    }
+
+    /**
+     * Gets executor.
+     *
+     * @return the executor, null if the calls are not marshalled
+     * @since 0.5.0
+     */
+    public DynamicObjectExecutor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Gets the cached JS function by name, or fetch it if it is not cached.
+     *
+     * @param name the name
+     * @return the function, null if the property is not a function
+     * @throws JavetException the javet exception
+     * @since 0.5.0
+     */
+    protected V8ValueFunction getFunction(String name) throws JavetException {
+        V8ValueFunction v8ValueFunction = functionMap.get(name);
+        if (v8ValueFunction == null) {
+            V8Value v8Value = v8ValueObject.get(name);
+            if (!(v8Value instanceof V8ValueFunction)) {
+                JavetResourceUtils.safeClose(v8Value);
+                return null;
+            }
+            v8ValueFunction = (V8ValueFunction) v8Value;
+            V8ValueFunction existingV8ValueFunction = functionMap.putIfAbsent(name, v8ValueFunction);
+            if (existingV8ValueFunction != null) {
+                JavetResourceUtils.safeClose(v8ValueFunction);
+                v8ValueFunction = existingV8ValueFunction;
+            }
+        }
+        return v8ValueFunction;
     }
 
     /**
@@ -110,29 +233,197 @@ public abstract class BaseDynamicObjectHandler<T> implements AutoCloseable {
     }
 
     /**
-     * Gets object class.
+     * Create object class builder without any method interception.
      *
-     * @return the object class
-     * @since 0.3.0
+     * @param <T>  the type parameter
+     * @param type the type
+     * @return the builder
+     * @since 0.5.0
      */
-    @SuppressWarnings("unchecked")
-    protected Class<T> getObjectClass() {
+    protected static <T> DynamicType.Builder<?> createObjectClassBuilder(Class<T> type) {
         DynamicType.Builder<?> builder;
-        if(type.isInterface())
+        if (type.isInterface()) {
             builder = new ByteBuddy().subclass(Object.class).implement(type);
-        else 
+        } else {
             builder = new ByteBuddy().subclass(type, CONSTRUCTOR_STRATEGY);
+        }
         if (!AutoCloseable.class.isAssignableFrom(type)) {
             builder = builder.implement(AutoCloseable.class);
         }
-        try (DynamicType.Unloaded<?> unloadedType = builder
-                .method(ElementMatchers.isPublic())
-                .intercept(MethodDelegation.to(this))
-                .make()) {
+        return builder.implement(IDynamicObjectSuperProvider.class);
+    }
+
+    /**
+     * Gets object class.
+     *
+     * @return the object class
+     * @throws JavetException the javet exception
+     * @since 0.3.0
+     */
+    @SuppressWarnings("unchecked")
+    protected Class<T> getObjectClass() throws JavetException {
+        try (DynamicType.Unloaded<?> unloadedType = makeObjectClass(
+                createObjectClassBuilder(type),
+                getShape().getMethodMatcher(),
+                MethodDelegation.to(this))) {
             return (Class<T>) unloadedType.load(getClass().getClassLoader()).getLoaded();
         }
     }
 
+    /**
+     * Gets the shape of the JS object, or capture it by the registry if it is not captured.
+     *
+     * @return the shape
+     * @throws JavetException the javet exception
+     * @since 0.5.0
+     */
+    public DynamicObjectShape getShape() throws JavetException {
+        DynamicObjectShape currentShape = shape;
+        if (currentShape == null) {
+            DynamicObjectRegistry currentRegistry = registry;
+            currentShape = currentRegistry == null
+                    ? DynamicObjectShape.of(v8ValueObject)
+                    : currentRegistry.getShape(v8ValueObject);
+            shape = currentShape;
+        }
+        return currentShape;
+    }
+
+    /**
+     * Is closed.
+     *
+     * @return true : closed, false : not closed
+     * @since 0.5.0
+     */
+    public boolean isClosed() {
+        return v8ValueObject == null;
+    }
+
+    /**
+     * Invalidate the shape and release the cached functions. It should be called after the JS object
+     * is mutated so that the shape is captured again and the next calls see the new functions and properties.
+     * The methods not provided by the JS object when the object class was generated are not intercepted,
+     * so the functions and properties added afterwards do not override them.
+     *
+     * @since 0.5.0
+     */
+    public void invalidate() {
+        shape = null;
+        if (!functionMap.isEmpty()) {
+            functionMap.values().removeIf(v8ValueFunction -> {
+                JavetResourceUtils.safeClose(v8ValueFunction);
+                return true;
+            });
+        }
+    }
+
+    /**
+     * Sets close listener which is called once the handler is closed.
+     *
+     * @param closeListener the close listener
+     * @since 0.5.0
+     */
+    public void setCloseListener(Consumer<BaseDynamicObjectHandler<T>> closeListener) {
+        this.closeListener = closeListener;
+    }
+
+    /**
+     * Sets executor which marshals the calls from the other threads to the owner thread of the V8 runtime.
+     *
+     * @param executor the executor, null if the calls are not marshalled
+     * @since 0.5.0
+     */
+    public void setExecutor(DynamicObjectExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Sets registry which captures the shape with its cached function and shares the captured shapes.
+     *
+     * @param registry the registry
+     * @since 0.5.0
+     */
+    public void setRegistry(DynamicObjectRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Sets shape. It is captured from the JS object on demand if it is not set.
+     *
+     * @param shape the shape
+     * @since 0.5.0
+     */
+    public void setShape(DynamicObjectShape shape) {
+        this.shape = shape;
+    }
+
+    /**
+     * Make object class with the matched methods intercepted by the implementation,
+     * except for {@link IDynamicObjectSuperProvider#$super()}.
+     *
+     * @param builder        the builder
+     * @param methodMatcher  the method matcher
+     * @param implementation the implementation
+     * @return the unloaded type
+     * @since 0.5.0
+     */
+    protected static DynamicType.Unloaded<?> makeObjectClass(
+            DynamicType.Builder<?> builder,
+            ElementMatcher<? super MethodDescription> methodMatcher,
+            Implementation implementation) {
+        // The latter matcher takes precedence.
+        return builder
+                .method(methodMatcher)
+                .intercept(implementation)
+                .method(ElementMatchers.named(IDynamicObjectSuperProvider.METHOD_SUPER)
+                        .and(ElementMatchers.takesArguments(0)))
+                .intercept(MethodDelegation.to(IDynamicObjectSuperProvider.Interceptor.class))
+                .make();
+    }
+
+    /**
+     * Marshal the call to the owner thread of the executor. The asynchronous methods are submitted
+     * without blocking the caller, and the returned future completes when the future returned
+     * on the owner thread completes. The synchronous methods block the caller till the call returns.
+     *
+     * @param executor the executor
+     * @param method   the method
+     * @param callable the callable
+     * @return the result
+     * @throws Exception the exception
+     * @since 0.5.0
+     */
+    @SuppressWarnings("unchecked")
+    protected static Object marshal(DynamicObjectExecutor executor, Method method, Callable<Object> callable)
+            throws Exception {
+        if (DynamicObjectDispatchPlan.isAsync(method)) {
+            return executor.submit(callable).thenCompose(result -> result == null
+                    ? CompletableFuture.completedFuture(null)
+                    : (CompletionStage<Object>) result);
+        }
+        return executor.call(callable);
+    }
+
+    /**
+     * Restore $super to the previous value returned by {@link #bindSuper(V8ValueObject)}.
+     *
+     * @param v8Runtime            the V8 runtime
+     * @param previousV8ValueSuper the previous V8 value super
+     * @throws JavetException the javet exception
+     * @since 0.5.0
+     */
+    protected void unbindSuper(V8Runtime v8Runtime, V8Value previousV8ValueSuper) throws JavetException {
+        try {
+            if (previousV8ValueSuper == null || previousV8ValueSuper.isUndefined()) {
+                v8Runtime.getGlobalObject().delete(SUPER);
+            } else {
+                v8Runtime.getGlobalObject().set(SUPER, previousV8ValueSuper);
+            }
+        } finally {
+            JavetResourceUtils.safeClose(previousV8ValueSuper);
+        }
+    }
+
     /**
      * Gets type.
      *
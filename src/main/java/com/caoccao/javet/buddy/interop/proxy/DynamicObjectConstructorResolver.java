@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.interop.proxy;
+
+import java.lang.reflect.Constructor;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The type Dynamic object constructor resolver resolves the constructor by the classes of the arguments
+ * with assignability and primitive widening, and caches the resolved constructor per class and argument classes.
+ *
+ * @since 0.5.0
+ */
+public final class DynamicObjectConstructorResolver {
+    private static final ClassValue<Map<List<Class<?>>, Constructor<?>>> CONSTRUCTOR_CACHE =
+            new ClassValue<Map<List<Class<?>>, Constructor<?>>>() {
+                @Override
+                protected Map<List<Class<?>>, Constructor<?>> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+    private static final Map<Class<?>, Class<?>> PRIMITIVE_TYPE_MAP;
+    private static final Map<Class<?>, Set<Class<?>>> PRIMITIVE_WIDENING_MAP;
+
+    static {
+        Map<Class<?>, Class<?>> primitiveTypeMap = new HashMap<>();
+        primitiveTypeMap.put(Boolean.class, boolean.class);
+        primitiveTypeMap.put(Byte.class, byte.class);
+        primitiveTypeMap.put(Character.class, char.class);
+        primitiveTypeMap.put(Double.class, double.class);
+        primitiveTypeMap.put(Float.class, float.class);
+        primitiveTypeMap.put(Integer.class, int.class);
+        primitiveTypeMap.put(Long.class, long.class);
+        primitiveTypeMap.put(Short.class, short.class);
+        PRIMITIVE_TYPE_MAP = Collections.unmodifiableMap(primitiveTypeMap);
+        Map<Class<?>, Set<Class<?>>> primitiveWideningMap = new HashMap<>();
+        primitiveWideningMap.put(boolean.class, setOf(boolean.class));
+        primitiveWideningMap.put(byte.class,
+                setOf(byte.class, short.class, int.class, long.class, float.class, double.class));
+        primitiveWideningMap.put(char.class, setOf(char.class, int.class, long.class, float.class, double.class));
+        primitiveWideningMap.put(double.class, setOf(double.class));
+        primitiveWideningMap.put(float.class, setOf(float.class, double.class));
+        primitiveWideningMap.put(int.class, setOf(int.class, long.class, float.class, double.class));
+        primitiveWideningMap.put(long.class, setOf(long.class, float.class, double.class));
+        primitiveWideningMap.put(short.class, setOf(short.class, int.class, long.class, float.class, double.class));
+        PRIMITIVE_WIDENING_MAP = Collections.unmodifiableMap(primitiveWideningMap);
+    }
+
+    private DynamicObjectConstructorResolver() {
+    }
+
+    /**
+     * Is the argument class assignable to the parameter type.
+     *
+     * @param parameterType the parameter type
+     * @param argumentClass the argument class, null for a null argument
+     * @return true : assignable, false : not assignable
+     * @since 0.5.0
+     */
+    public static boolean isAssignable(Class<?> parameterType, Class<?> argumentClass) {
+        if (argumentClass == null) {
+            return !parameterType.isPrimitive();
+        }
+        if (parameterType.isAssignableFrom(argumentClass)) {
+            return true;
+        }
+        if (parameterType.isPrimitive()) {
+            Class<?> primitiveType = argumentClass.isPrimitive() ? argumentClass : PRIMITIVE_TYPE_MAP.get(argumentClass);
+            return primitiveType != null && PRIMITIVE_WIDENING_MAP.get(primitiveType).contains(parameterType);
+        }
+        return false;
+    }
+
+    private static boolean isMoreSpecific(Class<?>[] parameterTypes, Class<?>[] otherParameterTypes) {
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (!isAssignable(otherParameterTypes[i], parameterTypes[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Resolve the public constructor of the type by the argument classes.
+     *
+     * @param <T>             the type parameter
+     * @param type            the type
+     * @param argumentClasses the argument classes, null for the null arguments
+     * @return the constructor
+     * @throws NoSuchMethodException the no such method exception
+     * @since 0.5.0
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Constructor<T> resolve(Class<T> type, Class<?>... argumentClasses)
+            throws NoSuchMethodException {
+        Objects.requireNonNull(type);
+        Objects.requireNonNull(argumentClasses);
+        Map<List<Class<?>>, Constructor<?>> constructorMap = CONSTRUCTOR_CACHE.get(type);
+        List<Class<?>> key = Arrays.asList(argumentClasses.clone());
+        Constructor<?> constructor = constructorMap.get(key);
+        if (constructor == null) {
+            for (Constructor<?> candidate : type.getConstructors()) {
+                Class<?>[] parameterTypes = candidate.getParameterTypes();
+                if (parameterTypes.length != argumentClasses.length) {
+                    continue;
+                }
+                boolean matched = true;
+                for (int i = 0; i < parameterTypes.length; i++) {
+                    if (!isAssignable(parameterTypes[i], argumentClasses[i])) {
+                        matched = false;
+                        break;
+                    }
+                }
+                if (matched && (constructor == null
+                        || isMoreSpecific(parameterTypes, constructor.getParameterTypes()))) {
+                    constructor = candidate;
+                }
+            }
+            if (constructor == null) {
+                throw new NoSuchMethodException(type.getName() + ".<init>" + key);
+            }
+            constructorMap.put(key, constructor);
+        }
+        return (Constructor<T>) constructor;
+    }
+
+    private static Set<Class<?>> setOf(Class<?>... classes) {
+        return Collections.unmodifiableSet(new HashSet<>(Arrays.asList(classes)));
+    }
+}
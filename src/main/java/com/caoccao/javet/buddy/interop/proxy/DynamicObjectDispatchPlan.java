@@ -0,0 +1,631 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.interop.proxy;
+
+import com.caoccao.javet.exceptions.JavetError;
+import com.caoccao.javet.exceptions.JavetException;
+import com.caoccao.javet.interop.V8Runtime;
+import com.caoccao.javet.utils.SimpleMap;
+import com.caoccao.javet.utils.StringUtils;
+import com.caoccao.javet.values.V8Value;
+import com.caoccao.javet.values.reference.IV8ValuePromise;
+import com.caoccao.javet.values.reference.V8ValueFunction;
+import com.caoccao.javet.values.reference.V8ValueObject;
+import com.caoccao.javet.values.reference.V8ValuePromise;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * The type Dynamic object dispatch plan tells how a method call on a dynamic object is dispatched.
+ * It is resolved once per method and shape, and cached by the shape.
+ *
+ * @since 0.5.0
+ */
+public final class DynamicObjectDispatchPlan {
+    /**
+     * The value returned by {@link #get(V8ValueObject)} if the JS property is undefined.
+     * The primitive typed getters coerce undefined, so it is only returned for the other return types.
+     *
+     * @since 0.5.0
+     */
+    public static final Object UNDEFINED = new Object();
+    private static final DynamicObjectDispatchPlan SUPER =
+            new DynamicObjectDispatchPlan(Type.Super, null, ReturnType.Object, null, null, false);
+    /**
+     * The property name table maps the getters and setters declared by a class to their JS property names,
+     * so that the names are derived once per method instead of once per handler.
+     */
+    private static final ClassValue<Map<Method, String>> PROPERTY_NAME_TABLE = new ClassValue<Map<Method, String>>() {
+        @Override
+        protected Map<Method, String> computeValue(Class<?> type) {
+            Map<Method, String> propertyNameMap = new HashMap<>();
+            for (Method method : type.getDeclaredMethods()) {
+                String propertyName = getPropertyName(method.getName(), method.getParameterCount());
+                if (propertyName != null) {
+                    propertyNameMap.put(method, propertyName);
+                }
+            }
+            return Collections.unmodifiableMap(propertyNameMap);
+        }
+    };
+    private final ReturnType futureResultType;
+    private final String name;
+    private final Class<?>[] primitiveParameterTypes;
+    private final ReturnType returnType;
+    private final boolean superRequired;
+    private final Type type;
+
+    private DynamicObjectDispatchPlan(
+            Type type,
+            String name,
+            ReturnType returnType,
+            ReturnType futureResultType,
+            Class<?>[] primitiveParameterTypes,
+            boolean superRequired) {
+        this.futureResultType = futureResultType;
+        this.name = name;
+        this.primitiveParameterTypes = primitiveParameterTypes;
+        this.returnType = Objects.requireNonNull(returnType);
+        this.superRequired = superRequired;
+        this.type = Objects.requireNonNull(type);
+    }
+
+    private static ReturnType getFutureResultType(java.lang.reflect.Type genericReturnType) {
+        if (genericReturnType instanceof ParameterizedType) {
+            java.lang.reflect.Type resultType = ((ParameterizedType) genericReturnType).getActualTypeArguments()[0];
+            if (resultType instanceof Class) {
+                return ReturnType.ofFutureResult((Class<?>) resultType);
+            }
+        }
+        return ReturnType.Object;
+    }
+
+    private static Class<?>[] getPrimitiveParameterTypes(Method method) {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (Class<?> parameterType : parameterTypes) {
+            if (!(parameterType == int.class || parameterType == double.class || parameterType == boolean.class
+                    || parameterType == long.class || parameterType == float.class || parameterType == short.class
+                    || parameterType == byte.class || parameterType == String.class)) {
+                return null;
+            }
+        }
+        return parameterTypes;
+    }
+
+    /**
+     * Gets the JS property name of the getter or setter from the property name table.
+     *
+     * @param method the method
+     * @return the property name, null if the method is neither a getter nor a setter
+     * @since 0.5.0
+     */
+    public static String getPropertyName(Method method) {
+        return PROPERTY_NAME_TABLE.get(method.getDeclaringClass()).get(method);
+    }
+
+    /**
+     * Gets the JS property name of the getter or setter.
+     *
+     * @param methodName     the method name
+     * @param argumentLength the argument length
+     * @return the property name, null if the method is neither a getter nor a setter
+     * @since 0.5.0
+     */
+    static String getPropertyName(String methodName, int argumentLength) {
+        String propertyName = null;
+        if (argumentLength == 0) {
+            if (methodName.startsWith(V8ValueObject.METHOD_PREFIX_IS)) {
+                propertyName = methodName.substring(V8ValueObject.METHOD_PREFIX_IS.length());
+            } else if (methodName.startsWith(V8ValueObject.METHOD_PREFIX_GET)) {
+                propertyName = methodName.substring(V8ValueObject.METHOD_PREFIX_GET.length());
+            }
+        } else if (argumentLength == 1) {
+            if (methodName.startsWith(V8ValueObject.METHOD_PREFIX_SET)) {
+                propertyName = methodName.substring(V8ValueObject.METHOD_PREFIX_SET.length());
+            }
+        }
+        if (StringUtils.isNotEmpty(propertyName)) {
+            return propertyName.substring(0, 1).toLowerCase(Locale.ROOT) + propertyName.substring(1);
+        }
+        return null;
+    }
+
+    /**
+     * Is the method asynchronous. An asynchronous method returns {@link CompletableFuture}
+     * or {@link CompletionStage}, so that the call can be submitted to the executor without blocking the caller.
+     *
+     * @param method the method
+     * @return true : asynchronous, false : synchronous
+     * @since 0.5.0
+     */
+    public static boolean isAsync(Method method) {
+        Class<?> returnType = method.getReturnType();
+        return returnType == CompletableFuture.class || returnType == CompletionStage.class;
+    }
+
+    /**
+     * Resolve the dispatch plan of the method against the shape of the JS object.
+     *
+     * @param shape  the shape
+     * @param method the method
+     * @return the dispatch plan
+     * @since 0.5.0
+     */
+    public static DynamicObjectDispatchPlan resolve(DynamicObjectShape shape, Method method) {
+        String methodName = method.getName();
+        final int argumentLength = method.getParameterCount();
+        final ReturnType returnType = ReturnType.of(method.getReturnType());
+        final ReturnType futureResultType = returnType == ReturnType.Future
+                ? getFutureResultType(method.getGenericReturnType())
+                : null;
+        if (shape.getPropertyNames().contains(methodName)) {
+            // Function or Property
+            if (shape.isFunction(methodName)) {
+                return new DynamicObjectDispatchPlan(
+                        Type.Function,
+                        methodName,
+                        returnType,
+                        futureResultType,
+                        getPrimitiveParameterTypes(method),
+                        shape.isSuperReferenced(methodName));
+            } else if (argumentLength == 0) {
+                return new DynamicObjectDispatchPlan(
+                        Type.Property,
+                        methodName,
+                        returnType,
+                        futureResultType,
+                        null,
+                        shape.isSuperReferenced(methodName));
+            }
+        } else {
+            // Getter or Setter
+            String propertyName = getPropertyName(method);
+            if (propertyName != null && shape.getPropertyNames().contains(propertyName)) {
+                return new DynamicObjectDispatchPlan(
+                        argumentLength == 0 ? Type.Getter : Type.Setter,
+                        propertyName,
+                        returnType,
+                        futureResultType,
+                        null,
+                        shape.isSuperReferenced(propertyName));
+            }
+        }
+        return SUPER;
+    }
+
+    /**
+     * Gets the result type of the future returned by the asynchronous method.
+     *
+     * @return the future result type, null if the method is not asynchronous
+     * @since 0.5.0
+     */
+    public ReturnType getFutureResultType() {
+        return futureResultType;
+    }
+
+    /**
+     * Gets the name of the JS function or property.
+     *
+     * @return the name, null if the call falls through to super
+     * @since 0.5.0
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets return type.
+     *
+     * @return the return type
+     * @since 0.5.0
+     */
+    public ReturnType getReturnType() {
+        return returnType;
+    }
+
+    /**
+     * Gets type.
+     *
+     * @return the type
+     * @since 0.5.0
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Is $super required. Only the functions and accessors that reference $super directly get it bound,
+     * so a function reaching $super through another function must reference $super itself.
+     * The bound functions and the native functions always get it bound, because their source is not available.
+     *
+     * @return true : required, false : not required
+     * @since 0.5.0
+     */
+    public boolean isSuperRequired() {
+        return superRequired;
+    }
+
+    /**
+     * Call the JS function and convert the result by the return type, so that the result is converted
+     * directly instead of going through the converter, and numbers are coerced to the return type.
+     * If all the parameters are primitive or string, the arguments are converted to V8 primitives directly
+     * as well, so that neither the converter nor the boxed arguments are involved on the V8 side.
+     * If the method is asynchronous, the result is a future completed when the returned JS promise settles.
+     * If the method returns void, the function is called without returning its result.
+     *
+     * @param v8ValueFunction the V8 value function
+     * @param receiver        the receiver
+     * @param arguments       the arguments
+     * @return the result
+     * @throws JavetException the javet exception
+     * @since 0.5.0
+     */
+    public Object call(V8ValueFunction v8ValueFunction, V8Value receiver, Object[] arguments)
+            throws JavetException {
+        V8Value v8ValueResult;
+        if (primitiveParameterTypes != null) {
+            V8Runtime v8Runtime = v8ValueFunction.getV8Runtime();
+            final int length = arguments.length;
+            V8Value[] v8ValueArguments = new V8Value[length];
+            for (int i = 0; i < length; i++) {
+                v8ValueArguments[i] = toV8Value(v8Runtime, primitiveParameterTypes[i], arguments[i]);
+            }
+            if (returnType == ReturnType.Void) {
+                v8ValueFunction.callVoid(receiver, v8ValueArguments);
+                return null;
+            }
+            v8ValueResult = v8ValueFunction.callExtended(receiver, true, v8ValueArguments);
+        } else {
+            if (returnType == ReturnType.Void) {
+                v8ValueFunction.callVoid(receiver, arguments);
+                return null;
+            }
+            v8ValueResult = v8ValueFunction.callExtended(receiver, true, arguments);
+        }
+        if (returnType == ReturnType.Object) {
+            return v8ValueFunction.getV8Runtime().toObject(v8ValueResult, true);
+        } else if (returnType == ReturnType.Future) {
+            return toFuture(v8ValueResult);
+        }
+        try (V8Value v8Value = v8ValueResult) {
+            switch (returnType) {
+                case Boolean:
+                    return v8Value.asBoolean();
+                case Double:
+                    return v8Value.asDouble();
+                case Float:
+                    return (float) v8Value.asDouble();
+                case Integer:
+                    return v8Value.asInt();
+                case Long:
+                    return v8Value.asLong();
+                case String:
+                    return v8Value.isNullOrUndefined() ? null : v8Value.asString();
+                default:
+                    return null;
+            }
+        }
+    }
+
+    /**
+     * Get the JS property with the typed getter of the return type.
+     * The string and object properties are read as they are, so that undefined is told apart from null
+     * without another round trip.
+     *
+     * @param v8ValueObject the V8 value object
+     * @return the property value, {@link #UNDEFINED} if the string or object property is undefined
+     * @throws JavetException the javet exception
+     * @since 0.5.0
+     */
+    public Object get(V8ValueObject v8ValueObject) throws JavetException {
+        switch (returnType) {
+            case Future:
+                return toFuture(v8ValueObject.get(name));
+            case Boolean:
+                return v8ValueObject.getBoolean(name);
+            case Double:
+                return v8ValueObject.getDouble(name);
+            case Float:
+                return v8ValueObject.getFloat(name);
+            case Integer:
+                return v8ValueObject.getInteger(name);
+            case Long:
+                return v8ValueObject.getLong(name);
+            default:
+                break;
+        }
+        V8Value v8Value = v8ValueObject.get(name);
+        if (v8Value.isUndefined()) {
+            v8Value.close();
+            return UNDEFINED;
+        }
+        if (returnType == ReturnType.String) {
+            try (V8Value v8ValueString = v8Value) {
+                return v8ValueString.isNull() ? null : v8ValueString.asString();
+            }
+        }
+        return v8ValueObject.getV8Runtime().toObject(v8Value, true);
+    }
+
+    private CompletableFuture<Object> toFuture(V8Value v8ValueResult) throws JavetException {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        try (V8Value v8Value = v8ValueResult) {
+            if (v8Value instanceof V8ValuePromise) {
+                V8ValuePromise v8ValuePromise = (V8ValuePromise) v8Value;
+                if (v8ValuePromise.isPending()) {
+                    // The listener is called back on the owner thread once the microtasks settle the promise.
+                    v8ValuePromise.register(new PromiseListener(future));
+                } else {
+                    try (V8Value v8ValuePromiseResult = v8ValuePromise.getResult()) {
+                        if (v8ValuePromise.isFulfilled()) {
+                            future.complete(toFutureResult(v8ValuePromiseResult));
+                        } else {
+                            future.completeExceptionally(toRejection(v8ValuePromiseResult));
+                        }
+                    }
+                }
+            } else {
+                future.complete(toFutureResult(v8Value));
+            }
+        }
+        return future;
+    }
+
+    private Object toFutureResult(V8Value v8Value) throws JavetException {
+        if (v8Value.isNullOrUndefined()) {
+            return null;
+        }
+        switch (futureResultType) {
+            case Boolean:
+                return v8Value.asBoolean();
+            case Double:
+                return v8Value.asDouble();
+            case Float:
+                return (float) v8Value.asDouble();
+            case Integer:
+                return v8Value.asInt();
+            case Long:
+                return v8Value.asLong();
+            case String:
+                return v8Value.asString();
+            case Void:
+                return null;
+            default:
+                return v8Value.getV8Runtime().toObject(v8Value);
+        }
+    }
+
+    private static JavetException toRejection(V8Value v8ValueReason) {
+        return new JavetException(
+                JavetError.ExecutionFailure,
+                SimpleMap.of(JavetError.PARAMETER_MESSAGE, String.valueOf(v8ValueReason)));
+    }
+
+    private static V8Value toV8Value(V8Runtime v8Runtime, Class<?> parameterType, Object argument)
+            throws JavetException {
+        // The conversion follows the converter, e.g. long goes to bigint.
+        if (parameterType == int.class || parameterType == short.class || parameterType == byte.class) {
+            return v8Runtime.createV8ValueInteger(((Number) argument).intValue());
+        } else if (parameterType == double.class || parameterType == float.class) {
+            return v8Runtime.createV8ValueDouble(((Number) argument).doubleValue());
+        } else if (parameterType == boolean.class) {
+            return v8Runtime.createV8ValueBoolean((Boolean) argument);
+        } else if (parameterType == long.class) {
+            return v8Runtime.createV8ValueLong((Long) argument);
+        } else if (argument == null) {
+            return v8Runtime.createV8ValueNull();
+        }
+        return v8Runtime.createV8ValueString((String) argument);
+    }
+
+    @Override
+    public String toString() {
+        return name == null ? type.name() : type.name() + "(" + name + ")";
+    }
+
+    /**
+     * The enum Type.
+     *
+     * @since 0.5.0
+     */
+    public enum Type {
+        /**
+         * Call the JS function with the same name.
+         *
+         * @since 0.5.0
+         */
+        Function,
+        /**
+         * Read the JS property with the same name.
+         *
+         * @since 0.5.0
+         */
+        Property,
+        /**
+         * Read the JS property named by the getter.
+         *
+         * @since 0.5.0
+         */
+        Getter,
+        /**
+         * Write the JS property named by the setter.
+         *
+         * @since 0.5.0
+         */
+        Setter,
+        /**
+         * Fall through to the super method.
+         *
+         * @since 0.5.0
+         */
+        Super,
+    }
+
+    /**
+     * The enum Return type selects the typed call of the JS function or property.
+     * The typed calls coerce the JS numbers, e.g. 3 is returned as 3.0 for double.
+     *
+     * @since 0.5.0
+     */
+    public enum ReturnType {
+        /**
+         * boolean.
+         *
+         * @since 0.5.0
+         */
+        Boolean,
+        /**
+         * double.
+         *
+         * @since 0.5.0
+         */
+        Double,
+        /**
+         * float.
+         *
+         * @since 0.5.0
+         */
+        Float,
+        /**
+         * {@link CompletableFuture} or {@link CompletionStage}, completed by the returned JS promise.
+         *
+         * @since 0.5.0
+         */
+        Future,
+        /**
+         * int.
+         *
+         * @since 0.5.0
+         */
+        Integer,
+        /**
+         * long.
+         *
+         * @since 0.5.0
+         */
+        Long,
+        /**
+         * Any other type, including the wrapper types, converted by the converter of the V8 runtime.
+         *
+         * @since 0.5.0
+         */
+        Object,
+        /**
+         * String.
+         *
+         * @since 0.5.0
+         */
+        String,
+        /**
+         * void.
+         *
+         * @since 0.5.0
+         */
+        Void;
+
+        /**
+         * Get the return type of the class. The wrapper types are not typed, because the typed calls
+         * coerce undefined to 0 or false while the wrapper types expect null.
+         *
+         * @param type the type
+         * @return the return type
+         * @since 0.5.0
+         */
+        public static ReturnType of(Class<?> type) {
+            if (type == int.class) {
+                return Integer;
+            } else if (type == double.class) {
+                return Double;
+            } else if (type == boolean.class) {
+                return Boolean;
+            } else if (type == long.class) {
+                return Long;
+            } else if (type == float.class) {
+                return Float;
+            } else if (type == java.lang.String.class) {
+                return String;
+            } else if (type == void.class) {
+                return Void;
+            } else if (type == CompletableFuture.class || type == CompletionStage.class) {
+                return Future;
+            }
+            return Object;
+        }
+
+        /**
+         * Get the result type of the future of the class. The wrapper types are typed,
+         * because null and undefined are resolved to null before the typed conversion.
+         *
+         * @param type the type
+         * @return the future result type
+         * @since 0.5.0
+         */
+        public static ReturnType ofFutureResult(Class<?> type) {
+            if (type == java.lang.Integer.class) {
+                return Integer;
+            } else if (type == java.lang.Double.class) {
+                return Double;
+            } else if (type == java.lang.Boolean.class) {
+                return Boolean;
+            } else if (type == java.lang.Long.class) {
+                return Long;
+            } else if (type == java.lang.Float.class) {
+                return Float;
+            } else if (type == java.lang.String.class) {
+                return String;
+            } else if (type == java.lang.Void.class) {
+                return Void;
+            }
+            return Object;
+        }
+    }
+
+    private final class PromiseListener implements IV8ValuePromise.IListener {
+        private final CompletableFuture<Object> future;
+
+        private PromiseListener(CompletableFuture<Object> future) {
+            this.future = future;
+        }
+
+        @Override
+        public void onCatch(V8Value v8Value) {
+            future.completeExceptionally(toRejection(v8Value));
+        }
+
+        @Override
+        public void onFulfilled(V8Value v8Value) {
+            try {
+                future.complete(toFutureResult(v8Value));
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }
+
+        @Override
+        public void onRejected(V8Value v8Value) {
+            future.completeExceptionally(toRejection(v8Value));
+        }
+    }
+}
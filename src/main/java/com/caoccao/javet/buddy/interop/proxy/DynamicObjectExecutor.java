@@ -0,0 +1,335 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.interop.proxy;
+
+import com.caoccao.javet.interop.V8Runtime;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The type Dynamic object executor marshals the calls on the dynamic objects of a V8 runtime
+ * to its owner thread. It is opt-in per V8 runtime via
+ * {@link JavetReflectionObjectFactory#setExecutor(V8Runtime, DynamicObjectExecutor)}.
+ * <p>
+ * The callers enqueue the calls to a lock-free multi-producer single-consumer queue and the owner thread
+ * drains the queue in batches, so that a burst of calls costs one wake-up of the owner thread.
+ * The calls from the owner thread, e.g. JS calling back into a dynamic object, run inline.
+ * <p>
+ * The methods returning {@link CompletableFuture} or {@link java.util.concurrent.CompletionStage}
+ * are submitted without blocking the callers. If JS returns a pending promise, the future is completed
+ * on the owner thread once the promise settles, so the dependent stages of the future should not block
+ * on the other calls marshalled to the owner thread, e.g. via the async variants of the stages.
+ * <p>
+ * The V8 runtime is only safe if nothing else enters it concurrently, so once the executor is enabled,
+ * the other work on the V8 runtime should be submitted to the executor as well.
+ * {@link com.caoccao.javet.interop.V8Locker} is not used, because once an isolate is locked,
+ * every thread entering it has to lock it as well.
+ *
+ * @since 0.5.0
+ */
+public final class DynamicObjectExecutor implements AutoCloseable {
+    /**
+     * The constant DEFAULT_BATCH_SIZE.
+     *
+     * @since 0.5.0
+     */
+    public static final int DEFAULT_BATCH_SIZE = 64;
+    private static final AtomicInteger THREAD_INDEX = new AtomicInteger();
+    private static final String THREAD_NAME_PREFIX = "javet-buddy-dynamic-object-executor-";
+    private final AtomicLong batchCount;
+    private final int batchSize;
+    private volatile boolean closed;
+    private final AtomicLong executedCount;
+    private final Thread ownerThread;
+    private final Queue<Task<?>> queue;
+    private final V8Runtime v8Runtime;
+
+    /**
+     * Instantiates a new Dynamic object executor with the default batch size.
+     *
+     * @param v8Runtime the V8 runtime
+     * @since 0.5.0
+     */
+    public DynamicObjectExecutor(V8Runtime v8Runtime) {
+        this(v8Runtime, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Instantiates a new Dynamic object executor.
+     *
+     * @param v8Runtime the V8 runtime
+     * @param batchSize the max count of the calls drained per wake-up
+     * @since 0.5.0
+     */
+    public DynamicObjectExecutor(V8Runtime v8Runtime, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The batch size must be positive.");
+        }
+        batchCount = new AtomicLong();
+        this.batchSize = batchSize;
+        closed = false;
+        executedCount = new AtomicLong();
+        queue = new ConcurrentLinkedQueue<>();
+        this.v8Runtime = Objects.requireNonNull(v8Runtime);
+        ownerThread = new Thread(this::run, THREAD_NAME_PREFIX + THREAD_INDEX.incrementAndGet());
+        ownerThread.setDaemon(true);
+        ownerThread.start();
+    }
+
+    /**
+     * Close the closeable, e.g. a handler or a V8 value, on the owner thread of the executor
+     * without waiting for it, so that the V8 handles are not closed concurrently with the other work
+     * on the V8 runtime. It closes the closeable on the current thread if the executor is null or closed,
+     * or if the current thread is the owner thread.
+     *
+     * @param executor      the executor, null if the calls are not marshalled
+     * @param autoCloseable the auto closeable
+     * @return the future completed once the closeable is closed
+     * @since 0.5.0
+     */
+    public static CompletableFuture<Void> closeOnOwnerThread(
+            DynamicObjectExecutor executor,
+            AutoCloseable autoCloseable) {
+        Objects.requireNonNull(autoCloseable);
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        if (executor == null || executor.isClosed() || executor.isOwnerThread()) {
+            closeQuietly(autoCloseable, future);
+        } else {
+            executor.submit(() -> {
+                autoCloseable.close();
+                return null;
+            }).whenComplete((result, t) -> {
+                if (t instanceof CancellationException) {
+                    // The executor was closed in the meantime, so nothing enters the V8 runtime via it any more.
+                    closeQuietly(autoCloseable, future);
+                } else if (t != null) {
+                    future.completeExceptionally(t);
+                } else {
+                    future.complete(null);
+                }
+            });
+        }
+        return future;
+    }
+
+    private static void closeQuietly(AutoCloseable autoCloseable, CompletableFuture<Void> future) {
+        try {
+            autoCloseable.close();
+            future.complete(null);
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+    }
+
+    /**
+     * Call the callable on the owner thread and wait for the result.
+     * It runs inline if the current thread is the owner thread.
+     *
+     * @param <R>      the type parameter
+     * @param callable the callable
+     * @return the result
+     * @throws Exception the exception thrown by the callable
+     * @since 0.5.0
+     */
+    public <R> R call(Callable<R> callable) throws Exception {
+        if (isOwnerThread()) {
+            executedCount.incrementAndGet();
+            return callable.call();
+        }
+        try {
+            return submit(callable).get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Close the executor and wait for the owner thread to quit. The queued calls that are not executed
+     * are cancelled. If the current thread is interrupted while waiting, it stops waiting
+     * and the interrupt status is restored.
+     *
+     * @since 0.5.0
+     */
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            LockSupport.unpark(ownerThread);
+            if (!isOwnerThread()) {
+                try {
+                    ownerThread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets batch count.
+     *
+     * @return the batch count
+     * @since 0.5.0
+     */
+    public long getBatchCount() {
+        return batchCount.get();
+    }
+
+    /**
+     * Gets batch size.
+     *
+     * @return the batch size
+     * @since 0.5.0
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Gets executed count.
+     *
+     * @return the executed count
+     * @since 0.5.0
+     */
+    public long getExecutedCount() {
+        return executedCount.get();
+    }
+
+    /**
+     * Gets owner thread.
+     *
+     * @return the owner thread
+     * @since 0.5.0
+     */
+    public Thread getOwnerThread() {
+        return ownerThread;
+    }
+
+    /**
+     * Gets V8 runtime.
+     *
+     * @return the V8 runtime
+     * @since 0.5.0
+     */
+    public V8Runtime getV8Runtime() {
+        return v8Runtime;
+    }
+
+    /**
+     * Is closed.
+     *
+     * @return true : closed, false : not closed
+     * @since 0.5.0
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Is the current thread the owner thread.
+     *
+     * @return true : yes, false : no
+     * @since 0.5.0
+     */
+    public boolean isOwnerThread() {
+        return Thread.currentThread() == ownerThread;
+    }
+
+    private void run() {
+        while (!closed) {
+            Task<?> task = queue.poll();
+            if (task == null) {
+                LockSupport.park(this);
+                continue;
+            }
+            // The queued calls are drained in one go so that a burst of calls costs one wake-up.
+            int count = 0;
+            do {
+                // The call is counted before its future completes, so that the callers see it counted.
+                executedCount.incrementAndGet();
+                task.run();
+                ++count;
+            } while (count < batchSize && (task = queue.poll()) != null);
+            batchCount.incrementAndGet();
+        }
+        Task<?> task;
+        while ((task = queue.poll()) != null) {
+            task.future.completeExceptionally(new CancellationException("The executor is closed."));
+        }
+    }
+
+    /**
+     * Submit the callable to the owner thread without waiting for the result.
+     * It runs inline if the current thread is the owner thread.
+     *
+     * @param <R>      the type parameter
+     * @param callable the callable
+     * @return the future
+     * @since 0.5.0
+     */
+    public <R> CompletableFuture<R> submit(Callable<R> callable) {
+        Task<R> task = new Task<>(Objects.requireNonNull(callable));
+        if (isOwnerThread()) {
+            executedCount.incrementAndGet();
+            task.run();
+        } else if (closed) {
+            task.future.completeExceptionally(new CancellationException("The executor is closed."));
+        } else {
+            queue.offer(task);
+            LockSupport.unpark(ownerThread);
+            if (closed && queue.remove(task)) {
+                // The owner thread might have quit before the task was queued.
+                task.future.completeExceptionally(new CancellationException("The executor is closed."));
+            }
+        }
+        return task.future;
+    }
+
+    private static final class Task<R> {
+        private final Callable<R> callable;
+        private final CompletableFuture<R> future;
+
+        private Task(Callable<R> callable) {
+            this.callable = callable;
+            future = new CompletableFuture<>();
+        }
+
+        private void run() {
+            try {
+                future.complete(callable.call());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }
+    }
+}
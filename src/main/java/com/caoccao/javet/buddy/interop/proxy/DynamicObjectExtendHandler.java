@@ -17,16 +17,13 @@
 package com.caoccao.javet.buddy.interop.proxy;
 
 import com.caoccao.javet.interop.V8Runtime;
-import com.caoccao.javet.utils.StringUtils;
+import com.caoccao.javet.utils.JavetResourceUtils;
 import com.caoccao.javet.values.V8Value;
 import com.caoccao.javet.values.reference.V8ValueFunction;
 import com.caoccao.javet.values.reference.V8ValueObject;
-import net.bytebuddy.dynamic.TargetType;
 import net.bytebuddy.implementation.bind.annotation.*;
 
 import java.lang.reflect.Method;
-import java.lang.reflect.Modifier;
-import java.util.Locale;
 import java.util.concurrent.Callable;
 
 /**
@@ -59,8 +56,8 @@ public class DynamicObjectExtendHandler<T> extends BaseDynamicObjectHandler<T> {
      *
      * @param method      the method
      * @param arguments   the arguments
-     * @param superObject the super object
      * @param thisObject  the this object
+     * @param superCall   the super call, null if the method is abstract
      * @return the object
      * @throws Exception the exception
      * @since 0.1.0
@@ -69,62 +66,67 @@ public class DynamicObjectExtendHandler<T> extends BaseDynamicObjectHandler<T> {
     public Object interceptMethod(
             @Origin Method method,
             @AllArguments Object[] arguments,
-            @Super(strategy = Super.Instantiation.UNSAFE, proxyType = TargetType.class) Object superObject,
-            @This Object thisObject) throws Exception {
+            @This Object thisObject,
+            @SuperCall(nullIfImpossible = true) Callable<?> superCall) throws Exception {
+        final DynamicObjectExecutor currentExecutor = executor;
+        if (currentExecutor != null && !currentExecutor.isOwnerThread()) {
+            return marshal(currentExecutor, method, () -> interceptMethod(method, arguments, thisObject, superCall));
+        }
         if (v8ValueObject != null) {
-            V8Runtime v8Runtime = v8ValueObject.getV8Runtime();
-            try (V8ValueObject v8ValueSuper = v8Runtime.toV8Value(superObject);
-                 V8ValueObject v8ValueThis = v8Runtime.toV8Value(thisObject)) {
-                v8Runtime.getGlobalObject().set(SUPER, v8ValueSuper);
-                String methodName = method.getName();
-                final int argumentLength = arguments.length;
-                if (v8ValueObject.has(methodName)) {
-                    // Function or Property
-                    try (V8Value v8ValueProperty = v8ValueObject.get(methodName)) {
-                        if (v8ValueProperty instanceof V8ValueFunction) {
-                            // Function
-                            V8ValueFunction v8ValueFunction = (V8ValueFunction) v8ValueProperty;
-                            return v8ValueFunction.callObject(v8ValueThis, arguments);
-                        } else if (argumentLength == 0) {
-                            // Property
-                            return v8Runtime.toObject(v8ValueProperty);
-                        }
-                    }
-                } else if (argumentLength == 0) {
-                    // Getter
-                    String propertyName = null;
-                    if (methodName.startsWith(V8ValueObject.METHOD_PREFIX_IS)) {
-                        propertyName = methodName.substring(V8ValueObject.METHOD_PREFIX_IS.length());
-                    } else if (methodName.startsWith(V8ValueObject.METHOD_PREFIX_GET)) {
-                        propertyName = methodName.substring(V8ValueObject.METHOD_PREFIX_GET.length());
-                    }
-                    if (StringUtils.isNotEmpty(propertyName)) {
-                        propertyName = propertyName.substring(0, 1).toLowerCase(Locale.ROOT)
-                                + propertyName.substring(1);
-                        if (v8ValueObject.has(propertyName)) {
-                            return v8ValueObject.getObject(propertyName);
-                        }
+            DynamicObjectDispatchPlan dispatchPlan = getDispatchPlan(method);
+            if (dispatchPlan.getType() != DynamicObjectDispatchPlan.Type.Super) {
+                V8Runtime v8Runtime = v8ValueObject.getV8Runtime();
+                final boolean superRequired = dispatchPlan.isSuperRequired();
+                V8ValueObject v8ValueSuper = null;
+                V8Value previousV8ValueSuper = null;
+                try {
+                    if (superRequired) {
+                        v8ValueSuper = v8Runtime.toV8Value(((IDynamicObjectSuperProvider) thisObject).$super());
+                        previousV8ValueSuper = bindSuper(v8ValueSuper);
                     }
-                } else if (argumentLength == 1) {
-                    // Setter
-                    String propertyName = null;
-                    if (methodName.startsWith(V8ValueObject.METHOD_PREFIX_SET)) {
-                        propertyName = methodName.substring(V8ValueObject.METHOD_PREFIX_SET.length());
+                    final String name = dispatchPlan.getName();
+                    switch (dispatchPlan.getType()) {
+                        case Function:
+                            V8ValueFunction v8ValueFunction = getFunction(name);
+                            if (v8ValueFunction != null) {
+                                try (V8ValueObject v8ValueThis = v8Runtime.toV8Value(thisObject)) {
+                                    return dispatchPlan.call(v8ValueFunction, v8ValueThis, arguments);
+                                }
+                            }
+                            // The function is gone, so the plan is stale.
+                            invalidate();
+                            return interceptMethod(method, arguments, thisObject, superCall);
+                        case Property:
+                        case Getter:
+                            Object result = dispatchPlan.get(v8ValueObject);
+                            if (result != DynamicObjectDispatchPlan.UNDEFINED) {
+                                return result;
+                            }
+                            if (v8ValueObject.has(name)) {
+                                return null;
+                            }
+                            // The property is gone, so the plan is stale.
+                            invalidate();
+                            return interceptMethod(method, arguments, thisObject, superCall);
+                        case Setter:
+                            try (V8ValueObject v8ValueThis = v8Runtime.toV8Value(thisObject)) {
+                                return v8ValueThis.set(name, arguments[0]);
+                            }
+                        default:
+                            break;
                     }
-                    if (StringUtils.isNotEmpty(propertyName)) {
-                        propertyName = propertyName.substring(0, 1).toLowerCase(Locale.ROOT)
-                                + propertyName.substring(1);
-                        if (v8ValueObject.has(propertyName)) {
-                            return v8ValueThis.set(propertyName, arguments[0]);
+                } finally {
+                    if (v8ValueSuper != null) {
+                        try {
+                            unbindSuper(v8Runtime, previousV8ValueSuper);
+                        } finally {
+                            JavetResourceUtils.safeClose(v8ValueSuper);
                         }
                     }
                 }
-            } finally {
-                v8Runtime.getGlobalObject().delete(SUPER);
             }
         }
-        if(Modifier.isAbstract(method.getModifiers()))
-            return null;
-        return method.invoke(superObject,arguments);
+        // The super call is generated, so the super method is called directly without reflection.
+        return superCall == null ? null : superCall.call();
     }
 }
@@ -18,21 +18,25 @@ package com.caoccao.javet.buddy.interop.proxy;
 
 import com.caoccao.javet.exceptions.JavetException;
 import com.caoccao.javet.interop.V8Runtime;
-import com.caoccao.javet.utils.StringUtils;
+import com.caoccao.javet.utils.JavetResourceUtils;
 import com.caoccao.javet.values.V8Value;
 import com.caoccao.javet.values.reference.V8ValueArray;
 import com.caoccao.javet.values.reference.V8ValueFunction;
 import com.caoccao.javet.values.reference.V8ValueObject;
-import net.bytebuddy.dynamic.TargetType;
+import net.bytebuddy.description.modifier.Visibility;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.implementation.MethodDelegation;
 import net.bytebuddy.implementation.bind.annotation.*;
 
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Callable;
-import java.lang.reflect.Modifier;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The type Dynamic object auto closeable invocation handler.
@@ -48,11 +52,45 @@ public class DynamicObjectInvocationHandler<T> extends BaseDynamicObjectHandler<
      */
     protected static final String ARGS = "$";
     /**
-     * The Dynamic object.
+     * The constant HANDLER for the field of the handler in the object class.
      *
-     * @since 0.4.0
+     * @since 0.5.0
      */
-    protected Object dynamicObject;
+    protected static final String HANDLER = "$handler";
+    /**
+     * The handler field of the object class. The field is private, so that the handler of a dynamic object
+     * cannot be swapped by the other code, and it is made accessible once per object class.
+     *
+     * @since 0.5.0
+     */
+    protected static final ClassValue<Field> HANDLER_FIELD = new ClassValue<Field>() {
+        @Override
+        protected Field computeValue(Class<?> objectClass) {
+            try {
+                Field field = objectClass.getDeclaredField(HANDLER);
+                if (field.getType() == DynamicObjectInvocationHandler.class) {
+                    field.setAccessible(true);
+                    return field;
+                }
+            } catch (NoSuchFieldException ignored) {
+            }
+            return null;
+        }
+    };
+    /**
+     * The object class cache. One object class is generated per type and set of intercepted methods,
+     * and shared by all handlers of that type whose JS objects back the same methods,
+     * so that the data properties not mapped to any method do not generate new object classes.
+     *
+     * @since 0.5.0
+     */
+    protected static final ClassValue<Map<Set<Method>, Field>> OBJECT_CLASS_HANDLER_FIELD_CACHE =
+            new ClassValue<Map<Set<Method>, Field>>() {
+                @Override
+                protected Map<Set<Method>, Field> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
 
     /**
      * Instantiates a new Dynamic object auto closeable invocation handler.
@@ -64,18 +102,37 @@ public class DynamicObjectInvocationHandler<T> extends BaseDynamicObjectHandler<
      */
     public DynamicObjectInvocationHandler(long handle, Class<T> type, V8ValueObject v8ValueObject) {
         super(handle, type, v8ValueObject);
-        dynamicObject = null;
     }
 
     @RuntimeType
     @Override
     public void close() throws Exception {
         super.close();
-        dynamicObject = null;
     }
 
     /**
-     * Gets dynamic object.
+     * Gets the handler of the dynamic object.
+     *
+     * @param dynamicObject the dynamic object
+     * @return the handler, null if the object is not created by this handler type
+     * @since 0.5.0
+     */
+    public static DynamicObjectInvocationHandler<?> getHandler(Object dynamicObject) {
+        if (dynamicObject != null) {
+            Field field = HANDLER_FIELD.get(dynamicObject.getClass());
+            if (field != null) {
+                try {
+                    return (DynamicObjectInvocationHandler<?>) field.get(dynamicObject);
+                } catch (IllegalAccessException ignored) {
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets dynamic object. The handler does not hold the dynamic object,
+     * so that the dynamic object can be tracked by {@link DynamicObjectTracker}.
      *
      * @return the dynamic object
      * @throws NoSuchMethodException     the no such method exception
@@ -88,7 +145,7 @@ public class DynamicObjectInvocationHandler<T> extends BaseDynamicObjectHandler<
     public Object getDynamicObject()
             throws NoSuchMethodException, InvocationTargetException,
             InstantiationException, IllegalAccessException, JavetException {
-        dynamicObject = null;
+        Object dynamicObject = null;
         if (v8ValueObject.has(ARGS)) {
             try (V8Value v8Value = v8ValueObject.get(ARGS)) {
                 if (v8Value instanceof V8ValueArray) {
@@ -96,23 +153,56 @@ public class DynamicObjectInvocationHandler<T> extends BaseDynamicObjectHandler<
                     V8ValueArray v8ValueArray = (V8ValueArray) v8Value;
                     V8Runtime v8Runtime = v8ValueObject.getV8Runtime();
                     v8ValueArray.forEach(value -> args.add(v8Runtime.toObject(value)));
-                    Class<?>[] argClasses = args.stream().map(Object::getClass).toArray(Class[]::new);
-                    dynamicObject = getObjectClass().getConstructor(argClasses).newInstance(args.toArray());
+                    Class<?>[] argClasses = args.stream()
+                            .map(arg -> arg == null ? null : arg.getClass())
+                            .toArray(Class[]::new);
+                    dynamicObject = DynamicObjectConstructorResolver.resolve(getObjectClass(), argClasses)
+                            .newInstance(args.toArray());
                 }
             }
         }
         if (dynamicObject == null) {
-            dynamicObject = getObjectClass().getConstructor().newInstance();
+            dynamicObject = DynamicObjectConstructorResolver.resolve(getObjectClass()).newInstance();
         }
+        getHandlerField().set(dynamicObject, this);
         return dynamicObject;
     }
 
+    /**
+     * Gets the handler field of the object class, or generate the object class if it is not cached.
+     *
+     * @return the handler field
+     * @throws JavetException the javet exception
+     * @since 0.5.0
+     */
+    protected Field getHandlerField() throws JavetException {
+        final DynamicObjectShape currentShape = getShape();
+        final Set<Method> interceptedMethods = currentShape.getInterceptedMethods(type);
+        return OBJECT_CLASS_HANDLER_FIELD_CACHE.get(type).computeIfAbsent(interceptedMethods, methods -> {
+            try (DynamicType.Unloaded<?> unloadedType = makeObjectClass(
+                    createObjectClassBuilder(type)
+                            .defineField(HANDLER, DynamicObjectInvocationHandler.class, Visibility.PRIVATE),
+                    currentShape.getMethodMatcher(),
+                    MethodDelegation.to(Interceptor.class))) {
+                return HANDLER_FIELD.get(unloadedType.load(DynamicObjectInvocationHandler.class.getClassLoader())
+                        .getLoaded());
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected Class<T> getObjectClass() throws JavetException {
+        return (Class<T>) getHandlerField().getDeclaringClass();
+    }
+
     /**
      * Intercept method call.
      *
      * @param method      the method
      * @param arguments   the arguments
-     * @param superObject the super object
+     * @param thisObject  the this object
+     * @param superCall   the super call, null if the method is abstract
      * @return the object
      * @throws Exception the exception
      * @since 0.1.0
@@ -121,62 +211,103 @@ public class DynamicObjectInvocationHandler<T> extends BaseDynamicObjectHandler<
     public Object interceptMethod(
             @Origin Method method,
             @AllArguments Object[] arguments,
-            @Super(strategy = Super.Instantiation.UNSAFE, proxyType = TargetType.class) Object superObject) throws Exception {
+            @This Object thisObject,
+            @SuperCall(nullIfImpossible = true) Callable<?> superCall) throws Exception {
+        final DynamicObjectExecutor currentExecutor = executor;
+        if (currentExecutor != null && !currentExecutor.isOwnerThread()) {
+            return marshal(currentExecutor, method, () -> interceptMethod(method, arguments, thisObject, superCall));
+        }
         if (v8ValueObject != null) {
-            V8Runtime v8Runtime = v8ValueObject.getV8Runtime();
-            try (V8ValueObject v8ValueSuper = v8Runtime.toV8Value(superObject)) {
-                v8Runtime.getGlobalObject().set(SUPER, v8ValueSuper);
-                String methodName = method.getName();
-                final int argumentLength = arguments.length;
-                if (METHOD_CLOSE.equals(methodName) && argumentLength == 0) {
-                    close();
-                } else if (v8ValueObject.has(methodName)) {
-                    // Function or Property
-                    try (V8Value v8ValueProperty = v8ValueObject.get(methodName)) {
-                        if (v8ValueProperty instanceof V8ValueFunction) {
-                            // Function
-                            V8ValueFunction v8ValueFunction = (V8ValueFunction) v8ValueProperty;
-                            return v8ValueFunction.callObject(v8ValueObject, arguments);
-                        } else if (argumentLength == 0) {
-                            // Property
-                            return v8Runtime.toObject(v8ValueProperty);
-                        }
-                    }
-                } else if (argumentLength == 0) {
-                    // Getter
-                    String propertyName = null;
-                    if (methodName.startsWith(V8ValueObject.METHOD_PREFIX_IS)) {
-                        propertyName = methodName.substring(V8ValueObject.METHOD_PREFIX_IS.length());
-                    } else if (methodName.startsWith(V8ValueObject.METHOD_PREFIX_GET)) {
-                        propertyName = methodName.substring(V8ValueObject.METHOD_PREFIX_GET.length());
-                    }
-                    if (StringUtils.isNotEmpty(propertyName)) {
-                        propertyName = propertyName.substring(0, 1).toLowerCase(Locale.ROOT)
-                                + propertyName.substring(1);
-                        if (v8ValueObject.has(propertyName)) {
-                            return v8ValueObject.getObject(propertyName);
-                        }
+            if (METHOD_CLOSE.equals(method.getName()) && arguments.length == 0) {
+                // The handler is closed first, then the close() of the super class, e.g. AutoCloseable, is called.
+                close();
+                return superCall == null ? null : superCall.call();
+            }
+            DynamicObjectDispatchPlan dispatchPlan = getDispatchPlan(method);
+            if (dispatchPlan.getType() != DynamicObjectDispatchPlan.Type.Super) {
+                V8Runtime v8Runtime = v8ValueObject.getV8Runtime();
+                V8ValueObject v8ValueSuper = null;
+                V8Value previousV8ValueSuper = null;
+                try {
+                    if (dispatchPlan.isSuperRequired()) {
+                        v8ValueSuper = v8Runtime.toV8Value(((IDynamicObjectSuperProvider) thisObject).$super());
+                        previousV8ValueSuper = bindSuper(v8ValueSuper);
                     }
-                } else if (argumentLength == 1) {
-                    // Setter
-                    String propertyName = null;
-                    if (methodName.startsWith(V8ValueObject.METHOD_PREFIX_SET)) {
-                        propertyName = methodName.substring(V8ValueObject.METHOD_PREFIX_SET.length());
+                    final String name = dispatchPlan.getName();
+                    switch (dispatchPlan.getType()) {
+                        case Function:
+                            V8ValueFunction v8ValueFunction = getFunction(name);
+                            if (v8ValueFunction != null) {
+                                return dispatchPlan.call(v8ValueFunction, v8ValueObject, arguments);
+                            }
+                            // The function is gone, so the plan is stale.
+                            invalidate();
+                            return interceptMethod(method, arguments, thisObject, superCall);
+                        case Property:
+                        case Getter:
+                            Object result = dispatchPlan.get(v8ValueObject);
+                            if (result != DynamicObjectDispatchPlan.UNDEFINED) {
+                                return result;
+                            }
+                            if (v8ValueObject.has(name)) {
+                                return null;
+                            }
+                            // The property is gone, so the plan is stale.
+                            invalidate();
+                            return interceptMethod(method, arguments, thisObject, superCall);
+                        case Setter:
+                            return v8ValueObject.set(name, arguments[0]);
+                        default:
+                            break;
                     }
-                    if (StringUtils.isNotEmpty(propertyName)) {
-                        propertyName = propertyName.substring(0, 1).toLowerCase(Locale.ROOT)
-                                + propertyName.substring(1);
-                        if (v8ValueObject.has(propertyName)) {
-                            return v8ValueObject.set(propertyName, arguments[0]);
+                } finally {
+                    if (v8ValueSuper != null) {
+                        try {
+                            unbindSuper(v8Runtime, previousV8ValueSuper);
+                        } finally {
+                            JavetResourceUtils.safeClose(v8ValueSuper);
                         }
                     }
                 }
-            } finally {
-                v8Runtime.getGlobalObject().delete(SUPER);
             }
         }
-        if(Modifier.isAbstract(method.getModifiers()))
-            return null;
-        return method.invoke(superObject,arguments);
+        // The super call is generated, so the super method is called directly without reflection.
+        return superCall == null ? null : superCall.call();
+    }
+
+    /**
+     * The type Interceptor dispatches the calls on the shared object class to the handler of the object.
+     *
+     * @since 0.5.0
+     */
+    public static final class Interceptor {
+        private Interceptor() {
+        }
+
+        /**
+         * Intercept method call.
+         *
+         * @param handler     the handler, null if the object is still being constructed
+         * @param method      the method
+         * @param arguments   the arguments
+         * @param thisObject  the this object
+         * @param superCall   the super call, null if the method is abstract
+         * @return the object
+         * @throws Exception the exception
+         * @since 0.5.0
+         */
+        @RuntimeType
+        public static Object intercept(
+                @FieldValue(HANDLER) DynamicObjectInvocationHandler<?> handler,
+                @Origin Method method,
+                @AllArguments Object[] arguments,
+                @This Object thisObject,
+                @SuperCall(nullIfImpossible = true) Callable<?> superCall)
+                throws Exception {
+            if (handler != null) {
+                return handler.interceptMethod(method, arguments, thisObject, superCall);
+            }
+            return superCall == null ? null : superCall.call();
+        }
     }
 }
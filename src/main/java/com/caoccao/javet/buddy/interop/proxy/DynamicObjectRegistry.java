@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.interop.proxy;
+
+import com.caoccao.javet.exceptions.JavetException;
+import com.caoccao.javet.interfaces.IJavetLogger;
+import com.caoccao.javet.interop.V8Runtime;
+import com.caoccao.javet.utils.JavetDefaultLogger;
+import com.caoccao.javet.values.reference.V8ValueFunction;
+import com.caoccao.javet.values.reference.V8ValueObject;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The type Dynamic object registry holds the handlers of one V8 runtime.
+ *
+ * @since 0.5.0
+ */
+public final class DynamicObjectRegistry {
+    /**
+     * The least recently used shapes are evicted beyond it,
+     * so that the JS objects of ever-changing shapes do not grow the registry without bound.
+     */
+    private static final int MAX_SHAPE_COUNT = 256;
+    private final AtomicLong closedCount;
+    private final AtomicLong createdCount;
+    private volatile DynamicObjectExecutor executor;
+    private final Map<Long, DynamicObjectExtendHandler<?>> extendHandlerMap;
+    private final Map<Long, DynamicObjectInvocationHandler<?>> invocationHandlerMap;
+    private final IJavetLogger logger;
+    private V8ValueFunction propertyNamesFunction;
+    private final Map<String, DynamicObjectShape> shapeMap;
+    private final V8Runtime v8Runtime;
+
+    /**
+     * Instantiates a new Dynamic object registry.
+     *
+     * @param v8Runtime the V8 runtime
+     * @since 0.5.0
+     */
+    public DynamicObjectRegistry(V8Runtime v8Runtime) {
+        closedCount = new AtomicLong();
+        createdCount = new AtomicLong();
+        executor = null;
+        extendHandlerMap = new ConcurrentHashMap<>();
+        invocationHandlerMap = new ConcurrentHashMap<>();
+        logger = new JavetDefaultLogger(getClass().getName());
+        propertyNamesFunction = null;
+        shapeMap = new LinkedHashMap<String, DynamicObjectShape>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, DynamicObjectShape> eldest) {
+                return size() > MAX_SHAPE_COUNT;
+            }
+        };
+        this.v8Runtime = Objects.requireNonNull(v8Runtime);
+    }
+
+    /**
+     * Add extend handler.
+     *
+     * @param handler the handler
+     * @since 0.5.0
+     */
+    public void add(DynamicObjectExtendHandler<?> handler) {
+        handler.setExecutor(executor);
+        handler.setRegistry(this);
+        extendHandlerMap.put(handler.getHandle(), handler);
+        createdCount.incrementAndGet();
+    }
+
+    /**
+     * Add invocation handler.
+     *
+     * @param handler the handler
+     * @since 0.5.0
+     */
+    public void add(DynamicObjectInvocationHandler<?> handler) {
+        handler.setExecutor(executor);
+        handler.setRegistry(this);
+        invocationHandlerMap.put(handler.getHandle(), handler);
+        createdCount.incrementAndGet();
+    }
+
+    /**
+     * Close all the handlers and return the closed handler count. If the calls are marshalled,
+     * the handlers and the cached function are closed on the owner thread without waiting for it.
+     *
+     * @return the closed handler count
+     * @throws Exception the exception
+     * @since 0.5.0
+     */
+    public int close() throws Exception {
+        List<BaseDynamicObjectHandler<?>> handlers = new ArrayList<>(invocationHandlerMap.values());
+        handlers.addAll(extendHandlerMap.values());
+        for (BaseDynamicObjectHandler<?> handler : handlers) {
+            DynamicObjectExecutor.closeOnOwnerThread(handler.getExecutor(), handler).whenComplete((result, t) -> {
+                if (t != null) {
+                    logger.logError(t, "Failed to close the handler of {0}.", handler.getType().getName());
+                }
+            });
+        }
+        invocationHandlerMap.clear();
+        extendHandlerMap.clear();
+        synchronized (this) {
+            if (propertyNamesFunction != null) {
+                DynamicObjectExecutor.closeOnOwnerThread(executor, propertyNamesFunction);
+                propertyNamesFunction = null;
+            }
+            shapeMap.clear();
+        }
+        return handlers.size();
+    }
+
+    /**
+     * Gets closed count.
+     *
+     * @return the closed count
+     * @since 0.5.0
+     */
+    public long getClosedCount() {
+        return closedCount.get();
+    }
+
+    /**
+     * Gets created count.
+     *
+     * @return the created count
+     * @since 0.5.0
+     */
+    public long getCreatedCount() {
+        return createdCount.get();
+    }
+
+    /**
+     * Gets executor.
+     *
+     * @return the executor, null if the calls are not marshalled
+     * @since 0.5.0
+     */
+    public DynamicObjectExecutor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Gets extend handler map.
+     *
+     * @return the extend handler map
+     * @since 0.5.0
+     */
+    public Map<Long, DynamicObjectExtendHandler<?>> getExtendHandlerMap() {
+        return extendHandlerMap;
+    }
+
+    /**
+     * Gets invocation handler map.
+     *
+     * @return the invocation handler map
+     * @since 0.5.0
+     */
+    public Map<Long, DynamicObjectInvocationHandler<?>> getInvocationHandlerMap() {
+        return invocationHandlerMap;
+    }
+
+    /**
+     * Gets live handler count.
+     *
+     * @return the live handler count
+     * @since 0.5.0
+     */
+    public int getLiveCount() {
+        return invocationHandlerMap.size() + extendHandlerMap.size();
+    }
+
+    /**
+     * Capture the shape of the V8 value object with the property names function cached in this registry,
+     * so that the function is compiled once per V8 runtime and the JS objects of the same shape share one
+     * shape instance. Only the recently used shapes are interned.
+     *
+     * @param v8ValueObject the V8 value object
+     * @return the shape
+     * @throws JavetException the javet exception
+     * @since 0.5.0
+     */
+    public synchronized DynamicObjectShape getShape(V8ValueObject v8ValueObject) throws JavetException {
+        if (propertyNamesFunction == null) {
+            propertyNamesFunction = DynamicObjectShape.createPropertyNamesFunction(v8Runtime);
+        }
+        return shapeMap.computeIfAbsent(
+                propertyNamesFunction.callString(null, v8ValueObject),
+                DynamicObjectShape::of);
+    }
+
+    /**
+     * Gets the count of the interned shapes.
+     *
+     * @return the shape count
+     * @since 0.5.0
+     */
+    public synchronized int getShapeCount() {
+        return shapeMap.size();
+    }
+
+    /**
+     * Gets V8 runtime.
+     *
+     * @return the V8 runtime
+     * @since 0.5.0
+     */
+    public V8Runtime getV8Runtime() {
+        return v8Runtime;
+    }
+
+    /**
+     * Remove the handler.
+     *
+     * @param handler the handler
+     * @since 0.5.0
+     */
+    public void remove(BaseDynamicObjectHandler<?> handler) {
+        if (invocationHandlerMap.remove(handler.getHandle()) != null
+                || extendHandlerMap.remove(handler.getHandle()) != null) {
+            closedCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Sets executor of the existing and future handlers of the V8 runtime.
+     *
+     * @param executor the executor, null if the calls are not marshalled
+     * @since 0.5.0
+     */
+    public void setExecutor(DynamicObjectExecutor executor) {
+        this.executor = executor;
+        invocationHandlerMap.values().forEach(handler -> handler.setExecutor(executor));
+        extendHandlerMap.values().forEach(handler -> handler.setExecutor(executor));
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.interop.proxy;
+
+import com.caoccao.javet.exceptions.JavetException;
+import com.caoccao.javet.interop.V8Runtime;
+import com.caoccao.javet.utils.StringUtils;
+import com.caoccao.javet.values.reference.V8ValueFunction;
+import com.caoccao.javet.values.reference.V8ValueObject;
+import net.bytebuddy.description.method.MethodDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.matcher.ElementMatchers;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The type Dynamic object shape is the set of the property names a JS object provides,
+ * including the ones inherited from its prototypes except for {@code Object.prototype}.
+ * Each property is captured with its kind and whether it references $super, so that the dispatch plans
+ * only depend on the shape and are shared by all the handlers whose JS objects have the same shape.
+ * It is captured once when the object class is generated, so that only the methods backed by JS
+ * are intercepted and the rest stay inherited code.
+ *
+ * @since 0.5.0
+ */
+public final class DynamicObjectShape {
+    private static final char KIND_FUNCTION = 'f';
+    private static final char KIND_FUNCTION_WITH_SUPER = 'F';
+    private static final char KIND_PROPERTY = 'p';
+    private static final char KIND_PROPERTY_WITH_SUPER = 'P';
+    private static final String LINE_SEPARATOR = "\n";
+    private static final String NATIVE_CODE = "[native code]";
+    private static final String SCRIPT_GET_PROPERTY_NAMES = "(object) => {\n" +
+            "  const isSuperReferenced = (f) => {\n" +
+            "    if (typeof f !== 'function') {\n" +
+            "      return false;\n" +
+            "    }\n" +
+            "    try {\n" +
+            "      const source = Function.prototype.toString.call(f);\n" +
+            "      return source.includes('" + BaseDynamicObjectHandler.SUPER + "') || source.includes('" +
+            NATIVE_CODE + "');\n" +
+            "    } catch (e) {\n" +
+            "      return true;\n" +
+            "    }\n" +
+            "  };\n" +
+            "  const names = new Set();\n" +
+            "  let shape = '';\n" +
+            "  for (let o = object; o !== null && o !== Object.prototype; o = Object.getPrototypeOf(o)) {\n" +
+            "    for (const name of Object.getOwnPropertyNames(o)) {\n" +
+            "      if (!names.has(name)) {\n" +
+            "        names.add(name);\n" +
+            "        const d = Object.getOwnPropertyDescriptor(o, name);\n" +
+            "        const s = isSuperReferenced(d.value) || isSuperReferenced(d.get) || isSuperReferenced(d.set);\n" +
+            "        shape += (typeof d.value === 'function'\n" +
+            "          ? (s ? '" + KIND_FUNCTION_WITH_SUPER + "' : '" + KIND_FUNCTION + "')\n" +
+            "          : (s ? '" + KIND_PROPERTY_WITH_SUPER + "' : '" + KIND_PROPERTY + "')) + name + '\\n';\n" +
+            "      }\n" +
+            "    }\n" +
+            "  }\n" +
+            "  return shape;\n" +
+            "}";
+    private final Map<Method, DynamicObjectDispatchPlan> dispatchPlanMap;
+    private final Set<String> functionNames;
+    private final Map<Class<?>, Set<Method>> interceptedMethodsMap;
+    private final Set<String> propertyNames;
+    private final Set<String> superReferencingNames;
+
+    private DynamicObjectShape(Set<String> propertyNames, Set<String> functionNames, Set<String> superReferencingNames) {
+        dispatchPlanMap = new ConcurrentHashMap<>();
+        this.functionNames = Collections.unmodifiableSet(Objects.requireNonNull(functionNames));
+        interceptedMethodsMap = new ConcurrentHashMap<>();
+        this.propertyNames = Collections.unmodifiableSet(Objects.requireNonNull(propertyNames));
+        this.superReferencingNames = Collections.unmodifiableSet(Objects.requireNonNull(superReferencingNames));
+    }
+
+    /**
+     * Create the function collecting the property names of a JS object along the prototype chain
+     * up to {@code Object.prototype}, whose built-in functions are not meant to override Java methods.
+     * The property closest to the object wins, like the property lookup does.
+     * It can be reused by {@link #of(V8ValueFunction, V8ValueObject)} within the same V8 runtime.
+     *
+     * @param v8Runtime the V8 runtime
+     * @return the function
+     * @throws JavetException the javet exception
+     * @since 0.5.0
+     */
+    public static V8ValueFunction createPropertyNamesFunction(V8Runtime v8Runtime) throws JavetException {
+        return v8Runtime.getExecutor(SCRIPT_GET_PROPERTY_NAMES).execute();
+    }
+
+    /**
+     * Capture the shape of the V8 value object. The property names are collected along the prototype chain,
+     * so that the methods of JS classes are captured as well.
+     *
+     * @param v8ValueObject the V8 value object
+     * @return the shape
+     * @throws JavetException the javet exception
+     * @since 0.5.0
+     */
+    public static DynamicObjectShape of(V8ValueObject v8ValueObject) throws JavetException {
+        try (V8ValueFunction propertyNamesFunction = createPropertyNamesFunction(v8ValueObject.getV8Runtime())) {
+            return of(propertyNamesFunction, v8ValueObject);
+        }
+    }
+
+    /**
+     * Capture the shape of the V8 value object by the function created by
+     * {@link #createPropertyNamesFunction(V8Runtime)}.
+     *
+     * @param propertyNamesFunction the property names function
+     * @param v8ValueObject         the V8 value object
+     * @return the shape
+     * @throws JavetException the javet exception
+     * @since 0.5.0
+     */
+    public static DynamicObjectShape of(V8ValueFunction propertyNamesFunction, V8ValueObject v8ValueObject)
+            throws JavetException {
+        return of(propertyNamesFunction.callString(null, v8ValueObject));
+    }
+
+    /**
+     * Create the shape from the property names joined by line feeds,
+     * which are returned by the function created by {@link #createPropertyNamesFunction(V8Runtime)}.
+     * Each name is prefixed by its kind: {@code f} for a function, {@code p} for any other property,
+     * in upper case if the function or the accessors reference $super.
+     * The names are transferred as one string, because converting the array element by element is much slower.
+     *
+     * @param joinedPropertyNames the joined property names
+     * @return the shape
+     * @since 0.5.0
+     */
+    public static DynamicObjectShape of(String joinedPropertyNames) {
+        Set<String> propertyNames = new TreeSet<>();
+        Set<String> functionNames = new HashSet<>();
+        Set<String> superReferencingNames = new HashSet<>();
+        if (StringUtils.isNotEmpty(joinedPropertyNames)) {
+            for (String line : joinedPropertyNames.split(LINE_SEPARATOR)) {
+                if (line.length() > 1) {
+                    final char kind = line.charAt(0);
+                    final String name = line.substring(1);
+                    propertyNames.add(name);
+                    if (kind == KIND_FUNCTION || kind == KIND_FUNCTION_WITH_SUPER) {
+                        functionNames.add(name);
+                    }
+                    if (kind == KIND_FUNCTION_WITH_SUPER || kind == KIND_PROPERTY_WITH_SUPER) {
+                        superReferencingNames.add(name);
+                    }
+                }
+            }
+        }
+        return new DynamicObjectShape(propertyNames, functionNames, superReferencingNames);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DynamicObjectShape)) {
+            return false;
+        }
+        DynamicObjectShape shape = (DynamicObjectShape) o;
+        return propertyNames.equals(shape.propertyNames)
+                && functionNames.equals(shape.functionNames)
+                && superReferencingNames.equals(shape.superReferencingNames);
+    }
+
+    /**
+     * Gets the cached dispatch plan of the method, or resolve it if it is not cached.
+     * The plans are cached per shape, so that they are resolved once for all the handlers sharing the shape.
+     *
+     * @param method the method
+     * @return the dispatch plan
+     * @since 0.5.0
+     */
+    public DynamicObjectDispatchPlan getDispatchPlan(Method method) {
+        DynamicObjectDispatchPlan dispatchPlan = dispatchPlanMap.get(method);
+        if (dispatchPlan == null) {
+            dispatchPlan = DynamicObjectDispatchPlan.resolve(this, method);
+            dispatchPlanMap.put(method, dispatchPlan);
+        }
+        return dispatchPlan;
+    }
+
+    /**
+     * Gets the public methods of the type backed by JS. The object classes generated for the type
+     * only differ by these methods, so the JS objects of different shapes share one object class
+     * as long as they back the same methods. The methods of {@link Object} are included,
+     * because they are intercepted even if the type is an interface.
+     *
+     * @param type the type
+     * @return the intercepted methods
+     * @since 0.5.0
+     */
+    public Set<Method> getInterceptedMethods(Class<?> type) {
+        return interceptedMethodsMap.computeIfAbsent(type, t -> {
+            Set<Method> interceptedMethods = new HashSet<>();
+            for (Method[] methods : new Method[][]{
+                    t.getMethods(), Object.class.getMethods(), IDynamicObjectSuperProvider.class.getMethods()}) {
+                for (Method method : methods) {
+                    if (isIntercepted(method.getName(), method.getParameterCount())) {
+                        interceptedMethods.add(method);
+                    }
+                }
+            }
+            return Collections.unmodifiableSet(interceptedMethods);
+        });
+    }
+
+    /**
+     * Gets the matcher of the methods to be intercepted. Besides the methods backed by JS,
+     * the abstract methods have to be implemented and {@code close()} has to release the handler.
+     *
+     * @return the method matcher
+     * @since 0.5.0
+     */
+    public ElementMatcher.Junction<MethodDescription> getMethodMatcher() {
+        return ElementMatchers.isPublic().and(ElementMatchers.<MethodDescription>isAbstract()
+                .or(ElementMatchers.named(BaseDynamicObjectHandler.METHOD_CLOSE)
+                        .and(ElementMatchers.takesArguments(0)))
+                .or(new ElementMatcher.Junction.AbstractBase<MethodDescription>() {
+                    @Override
+                    public boolean matches(MethodDescription methodDescription) {
+                        return isIntercepted(
+                                methodDescription.getName(),
+                                methodDescription.getParameters().size());
+                    }
+                }));
+    }
+
+    /**
+     * Gets property names.
+     *
+     * @return the property names
+     * @since 0.5.0
+     */
+    public Set<String> getPropertyNames() {
+        return propertyNames;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(propertyNames, functionNames, superReferencingNames);
+    }
+
+    /**
+     * Is the property a function.
+     *
+     * @param name the name
+     * @return true : function, false : not function or not found
+     * @since 0.5.0
+     */
+    public boolean isFunction(String name) {
+        return functionNames.contains(name);
+    }
+
+    /**
+     * Is the method backed by JS, either as a function or property with the same name,
+     * or as a getter or setter of a property.
+     *
+     * @param methodName     the method name
+     * @param argumentLength the argument length
+     * @return true : intercepted, false : not intercepted
+     * @since 0.5.0
+     */
+    public boolean isIntercepted(String methodName, int argumentLength) {
+        if (propertyNames.contains(methodName)) {
+            return true;
+        }
+        String propertyName = DynamicObjectDispatchPlan.getPropertyName(methodName, argumentLength);
+        return propertyName != null && propertyNames.contains(propertyName);
+    }
+
+    /**
+     * Is $super referenced by the function or the accessors of the property. The bound functions,
+     * the native functions and the functions whose source cannot be inspected are treated as referencing $super.
+     *
+     * @param name the name
+     * @return true : referenced, false : not referenced or not found
+     * @since 0.5.0
+     */
+    public boolean isSuperReferenced(String name) {
+        return superReferencingNames.contains(name);
+    }
+
+    @Override
+    public String toString() {
+        return propertyNames.toString();
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.interop.proxy;
+
+import com.caoccao.javet.interfaces.IJavetLogger;
+import com.caoccao.javet.utils.JavetDefaultLogger;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The type Dynamic object tracker releases the handlers of the dynamic objects
+ * that become unreachable without being closed. It replaces finalize() with phantom references
+ * drained on the callers' threads whenever a dynamic object is tracked or the factory purges,
+ * so that no thread is kept alive for the life of the JVM.
+ *
+ * @since 0.5.0
+ */
+public final class DynamicObjectTracker {
+    private static final DynamicObjectTracker instance = new DynamicObjectTracker();
+    private final AtomicLong leakedCount;
+    private final IJavetLogger logger;
+    private final ReferenceQueue<Object> referenceQueue;
+    private final Set<TrackedReference> references;
+    private final AtomicLong releasedCount;
+
+    private DynamicObjectTracker() {
+        leakedCount = new AtomicLong();
+        logger = new JavetDefaultLogger(getClass().getName());
+        referenceQueue = new ReferenceQueue<>();
+        references = ConcurrentHashMap.newKeySet();
+        releasedCount = new AtomicLong();
+    }
+
+    /**
+     * Gets instance.
+     *
+     * @return the instance
+     * @since 0.5.0
+     */
+    public static DynamicObjectTracker getInstance() {
+        return instance;
+    }
+
+    /**
+     * Release the handlers of the dynamic objects that are already unreachable.
+     * It is called whenever a dynamic object is tracked, and it can be called at any time,
+     * e.g. when the application is idle.
+     *
+     * @return the released count
+     * @since 0.5.0
+     */
+    public int drain() {
+        int count = 0;
+        Reference<?> reference;
+        while ((reference = referenceQueue.poll()) != null) {
+            release(reference);
+            ++count;
+        }
+        return count;
+    }
+
+    /**
+     * Gets leaked count. A handler is leaked if its dynamic object becomes unreachable without being closed.
+     * The leaked handlers are closed by the tracker.
+     *
+     * @return the leaked count
+     * @since 0.5.0
+     */
+    public long getLeakedCount() {
+        return leakedCount.get();
+    }
+
+    /**
+     * Gets released count. It is the count of the dynamic objects that became unreachable.
+     *
+     * @return the released count
+     * @since 0.5.0
+     */
+    public long getReleasedCount() {
+        return releasedCount.get();
+    }
+
+    /**
+     * Gets tracked count.
+     *
+     * @return the tracked count
+     * @since 0.5.0
+     */
+    public int getTrackedCount() {
+        return references.size();
+    }
+
+    private void release(Reference<?> reference) {
+        TrackedReference trackedReference = (TrackedReference) reference;
+        if (references.remove(trackedReference)) {
+            releasedCount.incrementAndGet();
+            BaseDynamicObjectHandler<?> handler = trackedReference.handler;
+            if (!handler.isClosed()) {
+                leakedCount.incrementAndGet();
+                DynamicObjectExecutor.closeOnOwnerThread(handler.getExecutor(), handler).whenComplete((result, t) -> {
+                    if (t != null) {
+                        logger.logError(t, "Failed to release the handler of {0}.", handler.getType().getName());
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Reset the statistics.
+     *
+     * @since 0.5.0
+     */
+    public void resetStatistics() {
+        leakedCount.set(0);
+        releasedCount.set(0);
+    }
+
+    /**
+     * Track the dynamic object so that its handler is closed once the dynamic object becomes unreachable.
+     * The handler must not hold a strong reference to the dynamic object.
+     * The handlers of the dynamic objects that are already unreachable are released first.
+     *
+     * @param dynamicObject the dynamic object, e.g. the proxy object or the extended class
+     * @param handler       the handler
+     * @since 0.5.0
+     */
+    public void track(Object dynamicObject, BaseDynamicObjectHandler<?> handler) {
+        drain();
+        references.add(new TrackedReference(
+                Objects.requireNonNull(dynamicObject), Objects.requireNonNull(handler), referenceQueue));
+    }
+
+    private static final class TrackedReference extends PhantomReference<Object> {
+        private final BaseDynamicObjectHandler<?> handler;
+
+        private TrackedReference(
+                Object referent,
+                BaseDynamicObjectHandler<?> handler,
+                ReferenceQueue<Object> referenceQueue) {
+            super(referent, referenceQueue);
+            this.handler = handler;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.interop.proxy;
+
+import net.bytebuddy.dynamic.TargetType;
+import net.bytebuddy.implementation.bind.annotation.RuntimeType;
+import net.bytebuddy.implementation.bind.annotation.Super;
+
+/**
+ * The interface Dynamic object super provider is implemented by the generated object classes
+ * so that the super object is only created when it is needed, e.g. for $super.
+ *
+ * @since 0.5.0
+ */
+public interface IDynamicObjectSuperProvider {
+    /**
+     * The constant METHOD_SUPER.
+     *
+     * @since 0.5.0
+     */
+    String METHOD_SUPER = "$super";
+
+    /**
+     * Gets the super object whose methods call the super methods of this object.
+     *
+     * @return the super object
+     * @since 0.5.0
+     */
+    Object $super();
+
+    /**
+     * The type Interceptor implements {@link #$super()}.
+     *
+     * @since 0.5.0
+     */
+    final class Interceptor {
+        private Interceptor() {
+        }
+
+        /**
+         * Gets super object.
+         *
+         * @param superObject the super object
+         * @return the super object
+         * @since 0.5.0
+         */
+        @RuntimeType
+        public static Object getSuperObject(
+                @Super(strategy = Super.Instantiation.UNSAFE, proxyType = TargetType.class) Object superObject) {
+            return superObject;
+        }
+    }
+}
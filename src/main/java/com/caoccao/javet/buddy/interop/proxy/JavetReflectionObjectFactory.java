@@ -28,6 +28,8 @@ import com.caoccao.javet.utils.V8ValueUtils;
 import com.caoccao.javet.values.V8Value;
 import com.caoccao.javet.values.reference.V8ValueObject;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
@@ -44,12 +46,14 @@ public final class JavetReflectionObjectFactory implements IJavetReflectionObjec
     private final Map<Long, DynamicObjectExtendHandler<?>> extendHandlerMap;
     private final Map<Long, DynamicObjectInvocationHandler<?>> invocationHandlerMap;
     private final IJavetLogger logger;
+    private final Map<V8Runtime, DynamicObjectRegistry> registryMap;
 
     private JavetReflectionObjectFactory() {
         logger = new JavetDefaultLogger(getClass().getName());
         currentExtendHandle = new AtomicLong();
         invocationHandlerMap = new ConcurrentHashMap<>();
         extendHandlerMap = new ConcurrentHashMap<>();
+        registryMap = new ConcurrentHashMap<>();
     }
 
     /**
@@ -64,6 +68,7 @@ public final class JavetReflectionObjectFactory implements IJavetReflectionObjec
 
     /**
      * Clear the internal handlers and return the cleared handler count.
+     * If the calls are marshalled, the handlers are closed on the owner threads without waiting for them.
      *
      * @return the cleared handler count
      * @throws Exception the exception
@@ -73,20 +78,33 @@ public final class JavetReflectionObjectFactory implements IJavetReflectionObjec
         final int invocationHandlerCount = invocationHandlerMap.size();
         if (invocationHandlerCount > 0) {
             for (DynamicObjectInvocationHandler<?> handler : invocationHandlerMap.values()) {
-                handler.close();
+                closeOnOwnerThread(handler);
             }
             invocationHandlerMap.clear();
         }
         final int extendHandlerCount = extendHandlerMap.size();
         if (extendHandlerCount > 0) {
             for (DynamicObjectExtendHandler<?> handler : extendHandlerMap.values()) {
-                handler.close();
+                closeOnOwnerThread(handler);
             }
             extendHandlerMap.clear();
         }
+        for (DynamicObjectRegistry registry : registryMap.values()) {
+            // The handlers are closed above, so it only releases what the registry caches.
+            registry.close();
+        }
+        registryMap.clear();
         return invocationHandlerCount + extendHandlerCount;
     }
 
+    private void closeOnOwnerThread(BaseDynamicObjectHandler<?> handler) {
+        DynamicObjectExecutor.closeOnOwnerThread(handler.getExecutor(), handler).whenComplete((result, t) -> {
+            if (t != null) {
+                logger.logError(t, "Failed to close the handler of {0}.", handler.getType().getName());
+            }
+        });
+    }
+
     /**
      * Extend class.
      *
@@ -105,8 +123,17 @@ public final class JavetReflectionObjectFactory implements IJavetReflectionObjec
                         currentExtendHandle.incrementAndGet(),
                         type,
                         v8ValueObject);
+                DynamicObjectRegistry registry = getOrCreateRegistry(v8ValueObject.getV8Runtime());
+                extendHandler.setCloseListener(handler -> {
+                    extendHandlerMap.remove(handler.getHandle());
+                    registry.remove(handler);
+                });
+                extendHandler.setShape(registry.getShape(v8ValueObject));
                 extendHandlerMap.put(extendHandler.getHandle(), extendHandler);
-                return extendHandler.getObjectClass();
+                registry.add(extendHandler);
+                Class<T> objectClass = extendHandler.getObjectClass();
+                DynamicObjectTracker.getInstance().track(objectClass, extendHandler);
+                return objectClass;
             } catch (Throwable t) {
                 logger.logError(t, "Failed to extend {0} by a dynamic object.", type.getName());
                 JavetResourceUtils.safeClose(v8ValueObject);
@@ -164,6 +191,106 @@ public final class JavetReflectionObjectFactory implements IJavetReflectionObjec
         return invocationHandlerMap;
     }
 
+    private DynamicObjectRegistry getOrCreateRegistry(V8Runtime v8Runtime) {
+        DynamicObjectRegistry registry = registryMap.get(v8Runtime);
+        if (registry == null) {
+            // A new runtime is a good moment to drop the registries of the closed runtimes.
+            purge();
+            registry = registryMap.computeIfAbsent(v8Runtime, DynamicObjectRegistry::new);
+        }
+        return registry;
+    }
+
+    /**
+     * Gets the executor of the V8 runtime.
+     *
+     * @param v8Runtime the V8 runtime
+     * @return the executor, null if the calls are not marshalled
+     * @since 0.5.0
+     */
+    public DynamicObjectExecutor getExecutor(V8Runtime v8Runtime) {
+        DynamicObjectRegistry registry = registryMap.get(v8Runtime);
+        return registry == null ? null : registry.getExecutor();
+    }
+
+    /**
+     * Gets the registries of all the V8 runtimes.
+     *
+     * @return the registries
+     * @since 0.5.0
+     */
+    public Collection<DynamicObjectRegistry> getRegistries() {
+        return Collections.unmodifiableCollection(registryMap.values());
+    }
+
+    /**
+     * Gets the registry of the V8 runtime.
+     *
+     * @param v8Runtime the V8 runtime
+     * @return the registry, null if no handlers are created in the V8 runtime
+     * @since 0.5.0
+     */
+    public DynamicObjectRegistry getRegistry(V8Runtime v8Runtime) {
+        return registryMap.get(v8Runtime);
+    }
+
+    /**
+     * Release the handlers of the dynamic objects that are unreachable and the handlers of the V8 runtimes
+     * that are closed, and return the released handler count of the closed V8 runtimes.
+     *
+     * @return the released handler count
+     * @since 0.5.0
+     */
+    public int purge() {
+        DynamicObjectTracker.getInstance().drain();
+        int count = 0;
+        for (DynamicObjectRegistry registry : registryMap.values()) {
+            if (registry.getV8Runtime().isClosed()) {
+                count += release(registry.getV8Runtime());
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Release the handlers of the V8 runtime and return the released handler count.
+     * It only touches the handlers of that V8 runtime. It should be called before or after
+     * the V8 runtime is closed. If the calls are marshalled, the handlers are closed on the owner thread
+     * without waiting for it.
+     *
+     * @param v8Runtime the V8 runtime
+     * @return the released handler count
+     * @since 0.5.0
+     */
+    public int release(V8Runtime v8Runtime) {
+        DynamicObjectRegistry registry = registryMap.remove(v8Runtime);
+        if (registry != null) {
+            try {
+                return registry.close();
+            } catch (Throwable t) {
+                logger.logError(t, "Failed to release the handlers of V8 runtime {0}.", v8Runtime.getHandle());
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Sets the executor of the V8 runtime, so that the calls on its dynamic objects from the other threads
+     * are marshalled to the owner thread of the executor. It applies to the existing dynamic objects as well.
+     * The methods returning {@link java.util.concurrent.CompletableFuture} return to the callers immediately.
+     * The executor is owned by the caller and it is not closed by the factory.
+     *
+     * @param v8Runtime the V8 runtime
+     * @param executor  the executor, null to stop marshalling the calls
+     * @since 0.5.0
+     */
+    public void setExecutor(V8Runtime v8Runtime, DynamicObjectExecutor executor) {
+        if (executor != null && executor.getV8Runtime() != v8Runtime) {
+            throw new IllegalArgumentException("The executor belongs to another V8 runtime.");
+        }
+        getOrCreateRegistry(v8Runtime).setExecutor(executor);
+    }
+
     @Override
     public Object toObject(Class<?> type, V8Value v8Value) {
         if (v8Value instanceof V8ValueObject) {
@@ -175,8 +302,17 @@ public final class JavetReflectionObjectFactory implements IJavetReflectionObjec
                                 currentExtendHandle.incrementAndGet(),
                                 type,
                                 v8ValueObject);
+                DynamicObjectRegistry registry = getOrCreateRegistry(v8ValueObject.getV8Runtime());
+                invocationHandler.setCloseListener(handler -> {
+                    invocationHandlerMap.remove(handler.getHandle());
+                    registry.remove(handler);
+                });
+                invocationHandler.setShape(registry.getShape(v8ValueObject));
                 invocationHandlerMap.put(invocationHandler.getHandle(), invocationHandler);
-                return invocationHandler.getDynamicObject();
+                registry.add(invocationHandler);
+                Object dynamicObject = invocationHandler.getDynamicObject();
+                DynamicObjectTracker.getInstance().track(dynamicObject, invocationHandler);
+                return dynamicObject;
             } catch (Throwable t) {
                 logger.logError(t, "Failed to create {0} by a dynamic object.", type.getName());
                 JavetResourceUtils.safeClose(v8ValueObject);
@@ -18,66 +18,290 @@ package com.caoccao.javet.buddy.ts2java;
 
 import com.caoccao.javet.buddy.ts2java.ast.memo.Ts2JavaMemoDynamicType;
 import com.caoccao.javet.buddy.ts2java.ast.stmt.Ts2JavaAstClassDecl;
+import com.caoccao.javet.buddy.ts2java.cache.Ts2JavaByteCodeCache;
+import com.caoccao.javet.buddy.ts2java.cache.Ts2JavaByteCodes;
+import com.caoccao.javet.buddy.ts2java.cache.Ts2JavaCacheUtils;
+import com.caoccao.javet.buddy.ts2java.cache.Ts2JavaClassCache;
+import com.caoccao.javet.buddy.ts2java.cache.Ts2JavaIncrementalCache;
 import com.caoccao.javet.buddy.ts2java.compiler.visitors.JavaLoggingMethodVisitor;
 import com.caoccao.javet.buddy.ts2java.exceptions.Ts2JavaException;
-import com.caoccao.javet.swc4j.Swc4j;
+import com.caoccao.javet.swc4j.ast.interfaces.ISwc4jAst;
 import com.caoccao.javet.swc4j.ast.program.Swc4jAstModule;
 import com.caoccao.javet.swc4j.ast.stmt.Swc4jAstClassDecl;
-import com.caoccao.javet.swc4j.enums.Swc4jMediaType;
-import com.caoccao.javet.swc4j.enums.Swc4jParseMode;
 import com.caoccao.javet.swc4j.exceptions.Swc4jCoreException;
-import com.caoccao.javet.swc4j.options.Swc4jParseOptions;
 import com.caoccao.javet.swc4j.outputs.Swc4jParseOutput;
+import com.caoccao.javet.swc4j.span.Swc4jSpan;
+import com.caoccao.javet.utils.StringUtils;
 import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.dynamic.loading.InjectionClassLoader;
 import net.bytebuddy.dynamic.scaffold.subclass.ConstructorStrategy;
 import net.bytebuddy.jar.asm.Opcodes;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 public class Ts2Java {
-    protected final static Swc4j swc4j = new Swc4j();
-    protected final static Swc4jParseOptions swc4jParseOptions = new Swc4jParseOptions()
-            .setMediaType(Swc4jMediaType.TypeScript)
-            .setParseMode(Swc4jParseMode.Module)
-            .setCaptureAst(true);
-    protected static boolean logging = false;
+    // Bump it whenever the cache key or the generated byte code changes, so that the stale cache entries are purged.
+    public static final int COMPILER_VERSION = 2;
+    public static final String JAVET_BUDDY_VERSION = "0.5.0";
     protected final String packageName;
     protected final String tsCode;
+    protected Ts2JavaByteCodeCache byteCodeCache;
+    protected Ts2JavaClassCache classCache;
+    protected ClassLoader classLoader;
+    protected ClassLoadingStrategy<ClassLoader> classLoadingStrategy;
     protected List<Class<?>> classes;
+    protected Ts2JavaCompiler compiler;
+    protected ForkJoinPool forkJoinPool;
+    protected Ts2JavaIncrementalCache incrementalCache;
+    protected String moduleName;
+    protected boolean parallel;
+    protected List<String> rebuiltClassNames;
 
     public Ts2Java(String packageName, String tsCode) {
+        byteCodeCache = null;
+        classCache = null;
+        classLoader = null;
+        classLoadingStrategy = null;
         classes = new ArrayList<>();
+        compiler = Ts2JavaCompiler.getInstance();
+        forkJoinPool = null;
+        incrementalCache = null;
+        moduleName = null;
+        parallel = false;
+        rebuiltClassNames = new ArrayList<>();
         this.packageName = packageName;
         this.tsCode = Objects.requireNonNull(tsCode);
     }
 
     public static void disableLogging() {
-        logging = false;
+        Ts2JavaCompiler.getInstance().setLogging(false);
     }
 
     public static void enableLogging() {
-        logging = true;
+        Ts2JavaCompiler.getInstance().setLogging(true);
+    }
+
+    public Ts2JavaByteCodeCache getByteCodeCache() {
+        return byteCodeCache;
+    }
+
+    public String getCacheKey() {
+        return Ts2JavaCacheUtils.hash(
+                getPackageName(),
+                getTsCode(),
+                compiler.getCacheKey());
+    }
+
+    public Ts2JavaClassCache getClassCache() {
+        return classCache;
+    }
+
+    protected String getClassName(Swc4jAstClassDecl classDecl) {
+        return StringUtils.isEmpty(packageName)
+                ? classDecl.getIdent().getSym()
+                : packageName + "." + classDecl.getIdent().getSym();
+    }
+
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    public ClassLoadingStrategy<ClassLoader> getClassLoadingStrategy() {
+        return classLoadingStrategy;
     }
 
     public List<Class<?>> getClasses() {
         return classes;
     }
 
+    public Ts2JavaCompiler getCompiler() {
+        return compiler;
+    }
+
+    protected List<Swc4jAstClassDecl> getClassDecls(Swc4jAstModule module) {
+        List<Swc4jAstClassDecl> classDecls = module.getBody().stream()
+                .filter(ast -> ast instanceof Swc4jAstClassDecl)
+                .map(ast -> (Swc4jAstClassDecl) ast)
+                .collect(Collectors.toList());
+        if (classDecls.isEmpty()) {
+            throw new Ts2JavaException("There must be at least one class declaration in the TypeScript code.");
+        }
+        return classDecls;
+    }
+
+    public ForkJoinPool getForkJoinPool() {
+        return forkJoinPool;
+    }
+
+    public Ts2JavaIncrementalCache getIncrementalCache() {
+        return incrementalCache;
+    }
+
+    public String getModuleName() {
+        return moduleName;
+    }
+
+    protected String getModuleName(List<Swc4jAstClassDecl> classDecls) {
+        // The first class names the module by default, so the modules sharing a package get their own entries.
+        return moduleName == null ? getClassName(classDecls.get(0)) : moduleName;
+    }
+
     public String getPackageName() {
         return packageName;
     }
 
+    public List<String> getRebuiltClassNames() {
+        return rebuiltClassNames;
+    }
+
+    protected String getSourceText(ISwc4jAst ast) {
+        Swc4jSpan span = ast.getSpan();
+        final int length = tsCode.length();
+        final int start = Math.max(0, Math.min(span.getStart(), length));
+        final int end = Math.max(start, Math.min(span.getEnd(), length));
+        return tsCode.substring(start, end);
+    }
+
+    protected ClassLoader getTargetClassLoader() {
+        return classLoader == null ? getClass().getClassLoader() : classLoader;
+    }
+
     public String getTsCode() {
         return tsCode;
     }
 
-    public void transpile() throws Swc4jCoreException {
-        classes.clear();
-        Swc4jParseOutput output = swc4j.parse(getTsCode(), swc4jParseOptions);
+    public boolean isBatchLoading() {
+        return parallel || classLoader != null || classLoadingStrategy != null;
+    }
+
+    protected boolean isInjectable(ClassLoader classLoader) {
+        return classLoader instanceof InjectionClassLoader && !((InjectionClassLoader) classLoader).isSealed();
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    protected List<Class<?>> load(List<DynamicType.Unloaded<?>> unloadedTypes) {
+        if (!isBatchLoading()) {
+            return unloadedTypes.stream()
+                    .map(unloadedType -> unloadedType.load(getClass().getClassLoader()).getLoaded())
+                    .collect(Collectors.toList());
+        }
+        // All classes of the module are defined together in one class loader.
+        DynamicType.Unloaded<?> moduleType = unloadedTypes.get(0)
+                .include(unloadedTypes.subList(1, unloadedTypes.size()));
+        ClassLoader targetClassLoader = getTargetClassLoader();
+        DynamicType.Loaded<?> loadedType;
+        if (classLoadingStrategy != null) {
+            loadedType = moduleType.load(targetClassLoader, classLoadingStrategy);
+        } else if (isInjectable(targetClassLoader)) {
+            loadedType = moduleType.load((InjectionClassLoader) targetClassLoader, InjectionClassLoader.Strategy.INSTANCE);
+        } else {
+            loadedType = moduleType.load(targetClassLoader, ClassLoadingStrategy.Default.WRAPPER);
+        }
+        Map<TypeDescription, Class<?>> loadedClassMap = loadedType.getAllLoaded();
+        return unloadedTypes.stream()
+                .map(unloadedType -> loadedClassMap.get(unloadedType.getTypeDescription()))
+                .collect(Collectors.toList());
+    }
+
+    protected List<Class<?>> loadClasses(Ts2JavaByteCodes byteCodes) {
+        ClassLoader targetClassLoader = getTargetClassLoader();
+        Map<String, Class<?>> loadedClassMap;
+        if (classLoadingStrategy == null && isInjectable(targetClassLoader)) {
+            try {
+                loadedClassMap = ((InjectionClassLoader) targetClassLoader).defineClasses(byteCodes.getTypeDefinitions());
+            } catch (ClassNotFoundException e) {
+                throw new Ts2JavaException("Failed to load " + e.getMessage() + " from the byte code cache.", e);
+            }
+        } else {
+            // The class loading strategies only rely on the type names, so latent type descriptions are sufficient.
+            Map<TypeDescription, byte[]> typeDefinitions = new LinkedHashMap<>();
+            byteCodes.getTypeDefinitions().forEach((typeName, bytes) -> typeDefinitions.put(
+                    new TypeDescription.Latent(
+                            typeName,
+                            Opcodes.ACC_PUBLIC,
+                            TypeDescription.Generic.OfNonGenericType.ForLoadedType.of(Object.class)),
+                    bytes));
+            ClassLoadingStrategy<ClassLoader> strategy = classLoadingStrategy == null
+                    ? ClassLoadingStrategy.Default.WRAPPER
+                    : classLoadingStrategy;
+            loadedClassMap = new HashMap<>();
+            strategy.load(targetClassLoader, typeDefinitions).forEach((typeDescription, loadedClass) ->
+                    loadedClassMap.put(typeDescription.getName(), loadedClass));
+        }
+        List<Class<?>> loadedClasses = new ArrayList<>();
+        for (String className : byteCodes.getClassNames()) {
+            Class<?> loadedClass = loadedClassMap.get(className);
+            if (loadedClass == null) {
+                throw new Ts2JavaException("Failed to load " + className + " from the byte code cache.");
+            }
+            loadedClasses.add(loadedClass);
+        }
+        return loadedClasses;
+    }
+
+    protected DynamicType.Unloaded<?> make(Swc4jAstClassDecl classDecl) {
+        DynamicType.Builder<?> builder = new ByteBuddy()
+                .subclass(Object.class, ConstructorStrategy.Default.DEFAULT_CONSTRUCTOR);
+        Ts2JavaAstClassDecl ts2JavaAstClassDecl = Ts2JavaAstClassDecl.create(
+                null,
+                classDecl,
+                new Ts2JavaMemoDynamicType(builder),
+                getPackageName());
+        ts2JavaAstClassDecl.compile();
+        ts2JavaAstClassDecl.syncLabels();
+        if (compiler.isLogging()) {
+            ts2JavaAstClassDecl.apply(new JavaLoggingMethodVisitor(Opcodes.ASM9), null);
+        }
+        builder = ts2JavaAstClassDecl.getMemo().getBuilder();
+        return builder.make();
+    }
+
+    protected List<DynamicType.Unloaded<?>> make(List<Swc4jAstClassDecl> classDecls) {
+        if (!parallel || classDecls.size() < 2) {
+            return classDecls.stream().map(this::make).collect(Collectors.toList());
+        }
+        // Each class declaration gets its own memo, so the class declarations can be compiled independently.
+        // The parallel stream keeps the encounter order, so the output order is deterministic.
+        ForkJoinPool pool = forkJoinPool == null ? ForkJoinPool.commonPool() : forkJoinPool;
+        try {
+            return pool.submit(() -> classDecls.parallelStream()
+                    .map(this::make)
+                    .collect(Collectors.<DynamicType.Unloaded<?>>toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new Ts2JavaException("The parallel transpilation is interrupted.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new Ts2JavaException("Failed to transpile in parallel.", cause);
+        }
+    }
+
+    protected List<Swc4jAstClassDecl> parse() throws Swc4jCoreException {
+        return getClassDecls(parseModule());
+    }
+
+    protected Swc4jAstModule parseModule() throws Swc4jCoreException {
+        Swc4jParseOutput output = compiler.parse(getTsCode());
         Swc4jAstModule module = (Swc4jAstModule) output.getProgram();
         if (module == null) {
             throw new Ts2JavaException("The TypeScript code must be a module, not a script.");
@@ -85,30 +309,162 @@ public class Ts2Java {
         if (module.getBody().isEmpty()) {
             throw new Ts2JavaException("The TypeScript code must contain at least one statement.");
         }
-        List<Swc4jAstClassDecl> classDecls = module.getBody().stream()
-                .filter(ast -> ast instanceof Swc4jAstClassDecl)
-                .map(ast -> (Swc4jAstClassDecl) ast)
-                .collect(Collectors.toList());
-        if (classDecls.isEmpty()) {
-            throw new Ts2JavaException("There must be at least one class declaration in the TypeScript code.");
+        return module;
+    }
+
+    public Ts2Java setByteCodeCache(Ts2JavaByteCodeCache byteCodeCache) {
+        this.byteCodeCache = byteCodeCache;
+        return this;
+    }
+
+    public Ts2Java setClassCache(Ts2JavaClassCache classCache) {
+        this.classCache = classCache;
+        return this;
+    }
+
+    public Ts2Java setClassLoader(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+        return this;
+    }
+
+    public Ts2Java setClassLoadingStrategy(ClassLoadingStrategy<ClassLoader> classLoadingStrategy) {
+        this.classLoadingStrategy = classLoadingStrategy;
+        return this;
+    }
+
+    public Ts2Java setCompiler(Ts2JavaCompiler compiler) {
+        this.compiler = Objects.requireNonNull(compiler);
+        return this;
+    }
+
+    public Ts2Java setForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+        return this;
+    }
+
+    public Ts2Java setIncrementalCache(Ts2JavaIncrementalCache incrementalCache) {
+        this.incrementalCache = incrementalCache;
+        return this;
+    }
+
+    public Ts2Java setModuleName(String moduleName) {
+        this.moduleName = moduleName;
+        return this;
+    }
+
+    public Ts2Java setParallel(boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
+
+    public void transpile() throws Swc4jCoreException {
+        classes.clear();
+        rebuiltClassNames.clear();
+        // The cached classes belong to the default class loader, so a custom class loader bypasses the class cache.
+        final boolean classCacheEnabled = classCache != null && classLoader == null && classLoadingStrategy == null;
+        final String cacheKey = classCacheEnabled || byteCodeCache != null ? getCacheKey() : null;
+        if (classCacheEnabled) {
+            List<Class<?>> cachedClasses = classCache.get(cacheKey);
+            if (cachedClasses != null) {
+                classes.addAll(cachedClasses);
+                return;
+            }
+        }
+        Ts2JavaByteCodes byteCodes = null;
+        if (byteCodeCache != null) {
+            byteCodes = byteCodeCache.get(cacheKey);
         }
+        Swc4jAstModule module = null;
+        if (byteCodes == null) {
+            module = parseModule();
+            if (incrementalCache != null) {
+                byteCodes = transpileIncrementally(module);
+                if (byteCodes != null && byteCodeCache != null) {
+                    byteCodeCache.put(cacheKey, byteCodes);
+                }
+            }
+        }
+        if (byteCodes != null) {
+            classes.addAll(loadClasses(byteCodes));
+        } else {
+            // The parsed module is reused if the incremental transpilation falls back to the full one.
+            List<DynamicType.Unloaded<?>> unloadedTypes = make(getClassDecls(module));
+            try {
+                // Types with live initializers cannot be restored from their bytes alone.
+                if (byteCodeCache != null
+                        && unloadedTypes.stream().noneMatch(DynamicType::hasAliveLoadedTypeInitializers)) {
+                    byteCodes = new Ts2JavaByteCodes();
+                    for (DynamicType.Unloaded<?> unloadedType : unloadedTypes) {
+                        byteCodes.add(unloadedType);
+                    }
+                    byteCodeCache.put(cacheKey, byteCodes);
+                }
+                classes.addAll(load(unloadedTypes));
+                unloadedTypes.forEach(unloadedType ->
+                        rebuiltClassNames.add(unloadedType.getTypeDescription().getName()));
+            } finally {
+                unloadedTypes.forEach(DynamicType::close);
+            }
+        }
+        if (classCacheEnabled) {
+            classCache.put(cacheKey, classes);
+        }
+    }
+
+    protected Ts2JavaByteCodes transpileIncrementally(Swc4jAstModule module) {
+        List<Swc4jAstClassDecl> classDecls = getClassDecls(module);
+        final String currentModuleName = getModuleName(classDecls);
+        // The classes removed from the module are pruned, so that the cache does not grow across reloads.
+        incrementalCache.retain(
+                currentModuleName,
+                classDecls.stream().map(this::getClassName).collect(Collectors.toList()));
+        // Anything outside the class declarations, e.g. imports and type aliases, may affect every class.
+        String moduleFingerprint = Ts2JavaCacheUtils.hash(module.getBody().stream()
+                .filter(ast -> !(ast instanceof Swc4jAstClassDecl))
+                .map(this::getSourceText)
+                .toArray(String[]::new));
+        List<String> fingerprints = new ArrayList<>();
+        List<Ts2JavaByteCodes> classByteCodesList = new ArrayList<>();
+        List<Swc4jAstClassDecl> changedClassDecls = new ArrayList<>();
         for (Swc4jAstClassDecl classDecl : classDecls) {
-            DynamicType.Builder<?> builder = new ByteBuddy()
-                    .subclass(Object.class, ConstructorStrategy.Default.DEFAULT_CONSTRUCTOR);
-            Ts2JavaAstClassDecl ts2JavaAstClassDecl = Ts2JavaAstClassDecl.create(
-                    null,
-                    classDecl,
-                    new Ts2JavaMemoDynamicType(builder),
-                    getPackageName());
-            ts2JavaAstClassDecl.compile();
-            ts2JavaAstClassDecl.syncLabels();
-            if (logging) {
-                ts2JavaAstClassDecl.apply(new JavaLoggingMethodVisitor(Opcodes.ASM9), null);
+            // A class is the smallest unit that can be defined, so a changed method rebuilds its class.
+            String fingerprint = Ts2JavaCacheUtils.hash(
+                    Integer.toString(COMPILER_VERSION),
+                    compiler.getCacheKey(),
+                    moduleFingerprint,
+                    getSourceText(classDecl));
+            Ts2JavaByteCodes classByteCodes = incrementalCache.get(
+                    currentModuleName,
+                    getClassName(classDecl),
+                    fingerprint);
+            if (classByteCodes == null) {
+                changedClassDecls.add(classDecl);
+            }
+            fingerprints.add(fingerprint);
+            classByteCodesList.add(classByteCodes);
+        }
+        List<DynamicType.Unloaded<?>> unloadedTypes = make(changedClassDecls);
+        try {
+            // Types with live initializers cannot be restored from their bytes alone, so the module is rebuilt.
+            if (unloadedTypes.stream().anyMatch(DynamicType::hasAliveLoadedTypeInitializers)) {
+                return null;
             }
-            builder = ts2JavaAstClassDecl.getMemo().getBuilder();
-            try (DynamicType.Unloaded<?> unloadedType = builder.make()) {
-                classes.add(unloadedType.load(getClass().getClassLoader()).getLoaded());
+            int unloadedTypeIndex = 0;
+            for (int i = 0; i < classDecls.size(); i++) {
+                if (classByteCodesList.get(i) == null) {
+                    DynamicType.Unloaded<?> unloadedType = unloadedTypes.get(unloadedTypeIndex++);
+                    Ts2JavaByteCodes classByteCodes = new Ts2JavaByteCodes().add(unloadedType);
+                    String className = unloadedType.getTypeDescription().getName();
+                    incrementalCache.put(currentModuleName, className, fingerprints.get(i), classByteCodes);
+                    classByteCodesList.set(i, classByteCodes);
+                    rebuiltClassNames.add(className);
+                }
             }
+        } finally {
+            unloadedTypes.forEach(DynamicType::close);
         }
+        Ts2JavaByteCodes byteCodes = new Ts2JavaByteCodes();
+        classByteCodesList.forEach(byteCodes::add);
+        return byteCodes;
     }
 }
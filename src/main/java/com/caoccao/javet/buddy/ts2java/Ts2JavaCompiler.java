@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.ts2java;
+
+import com.caoccao.javet.swc4j.Swc4j;
+import com.caoccao.javet.swc4j.enums.Swc4jMediaType;
+import com.caoccao.javet.swc4j.enums.Swc4jParseMode;
+import com.caoccao.javet.swc4j.exceptions.Swc4jCoreException;
+import com.caoccao.javet.swc4j.options.Swc4jParseOptions;
+import com.caoccao.javet.swc4j.outputs.Swc4jParseOutput;
+
+import java.util.Objects;
+
+public class Ts2JavaCompiler {
+    protected static final Ts2JavaCompiler instance = new Ts2JavaCompiler();
+    // Swc4j keeps no state per parse, so one instance is shared by the concurrent parses.
+    protected final Swc4j swc4j;
+    protected volatile boolean logging;
+    protected volatile Swc4jParseOptions parseOptions;
+
+    public Ts2JavaCompiler() {
+        logging = false;
+        parseOptions = createParseOptions(Swc4jMediaType.TypeScript);
+        swc4j = new Swc4j();
+    }
+
+    protected static Swc4jParseOptions createParseOptions(Swc4jMediaType mediaType) {
+        return new Swc4jParseOptions()
+                .setMediaType(Objects.requireNonNull(mediaType))
+                .setParseMode(Swc4jParseMode.Module)
+                .setCaptureAst(true);
+    }
+
+    public static Ts2JavaCompiler getInstance() {
+        return instance;
+    }
+
+    public String getCacheKey() {
+        Swc4jParseOptions currentParseOptions = parseOptions;
+        return currentParseOptions.getMediaType().name() + "/" + currentParseOptions.getParseMode().name();
+    }
+
+    public Swc4jMediaType getMediaType() {
+        return parseOptions.getMediaType();
+    }
+
+    public boolean isLogging() {
+        return logging;
+    }
+
+    public Swc4jParseOutput parse(String code) throws Swc4jCoreException {
+        return swc4j.parse(code, parseOptions);
+    }
+
+    public Ts2JavaCompiler setLogging(boolean logging) {
+        this.logging = logging;
+        return this;
+    }
+
+    public Ts2JavaCompiler setMediaType(Swc4jMediaType mediaType) {
+        // The parse options are replaced rather than mutated because they are shared by concurrent parses.
+        parseOptions = createParseOptions(mediaType);
+        return this;
+    }
+}
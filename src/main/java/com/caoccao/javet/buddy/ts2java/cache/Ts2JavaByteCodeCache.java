@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.ts2java.cache;
+
+import com.caoccao.javet.buddy.ts2java.Ts2Java;
+import com.caoccao.javet.buddy.ts2java.exceptions.Ts2JavaException;
+import com.caoccao.javet.interfaces.IJavetLogger;
+import com.caoccao.javet.utils.JavetDefaultLogger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class Ts2JavaByteCodeCache {
+    public static final String CLASS_FILE_EXTENSION = ".class";
+    public static final String INDEX_FILE_NAME = "index";
+    public static final String MARKER_FILE_NAME = ".javet-buddy-byte-code-cache";
+    protected static final String TEMP_DIRECTORY_SUFFIX = ".tmp";
+    protected final AtomicLong hitCount;
+    protected final IJavetLogger logger;
+    protected final AtomicLong missCount;
+    protected final Path rootPath;
+    protected final String version;
+    protected final Path versionPath;
+
+    public Ts2JavaByteCodeCache(Path rootPath) {
+        this(rootPath, getDefaultVersion());
+    }
+
+    public Ts2JavaByteCodeCache(Path rootPath, String version) {
+        this.rootPath = Objects.requireNonNull(rootPath).toAbsolutePath();
+        this.version = Objects.requireNonNull(version);
+        versionPath = this.rootPath.resolve(version);
+        hitCount = new AtomicLong();
+        logger = new JavetDefaultLogger(getClass().getName());
+        missCount = new AtomicLong();
+        try {
+            createVersionPath();
+            invalidateOtherVersions();
+        } catch (IOException e) {
+            throw new Ts2JavaException("Failed to initialize the byte code cache in " + rootPath + ".", e);
+        }
+    }
+
+    public static String getDefaultVersion() {
+        return "javet-buddy-" + Ts2Java.JAVET_BUDDY_VERSION + "-compiler-" + Ts2Java.COMPILER_VERSION;
+    }
+
+    protected static void deleteRecursively(Path path) throws IOException {
+        if (Files.exists(path)) {
+            List<Path> paths;
+            try (Stream<Path> stream = Files.walk(path)) {
+                paths = stream.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+            }
+            for (Path childPath : paths) {
+                Files.deleteIfExists(childPath);
+            }
+        }
+    }
+
+    public void clear() {
+        try {
+            deleteRecursively(versionPath);
+            createVersionPath();
+        } catch (IOException e) {
+            throw new Ts2JavaException("Failed to clear the byte code cache in " + versionPath + ".", e);
+        }
+    }
+
+    protected void createVersionPath() throws IOException {
+        Files.createDirectories(versionPath);
+        // The marker tells the version directories created by the cache from the other data in the root path.
+        Path markerPath = versionPath.resolve(MARKER_FILE_NAME);
+        if (!Files.exists(markerPath)) {
+            Files.write(markerPath, version.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    public Ts2JavaByteCodes get(String key) {
+        Path entryPath = versionPath.resolve(Objects.requireNonNull(key));
+        if (Files.isDirectory(entryPath)) {
+            try {
+                Ts2JavaByteCodes byteCodes = new Ts2JavaByteCodes();
+                for (String className : Files.readAllLines(entryPath.resolve(INDEX_FILE_NAME), StandardCharsets.UTF_8)) {
+                    if (!className.isEmpty()) {
+                        byteCodes.addClassName(className);
+                    }
+                }
+                try (DirectoryStream<Path> stream = Files.newDirectoryStream(entryPath, "*" + CLASS_FILE_EXTENSION)) {
+                    for (Path classFilePath : stream) {
+                        String fileName = classFilePath.getFileName().toString();
+                        String typeName = fileName.substring(0, fileName.length() - CLASS_FILE_EXTENSION.length());
+                        byteCodes.putTypeDefinition(typeName, Files.readAllBytes(classFilePath));
+                    }
+                }
+                if (byteCodes.isValid()) {
+                    hitCount.incrementAndGet();
+                    return byteCodes;
+                }
+            } catch (IOException e) {
+                logger.logWarn("Failed to read {0} from the byte code cache: {1}", key, e.getMessage());
+            }
+            // The entry is incomplete or unreadable, so it is dropped and rebuilt by the caller.
+            try {
+                deleteRecursively(entryPath);
+            } catch (IOException e) {
+                logger.logWarn("Failed to remove {0} from the byte code cache: {1}", key, e.getMessage());
+            }
+        }
+        missCount.incrementAndGet();
+        return null;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public Path getRootPath() {
+        return rootPath;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public Path getVersionPath() {
+        return versionPath;
+    }
+
+    protected void invalidateOtherVersions() throws IOException {
+        List<Path> stalePaths = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(rootPath, Files::isDirectory)) {
+            for (Path path : stream) {
+                // Only the version directories created by the cache are purged.
+                if (!path.equals(versionPath) && Files.isRegularFile(path.resolve(MARKER_FILE_NAME))) {
+                    stalePaths.add(path);
+                }
+            }
+        }
+        for (Path stalePath : stalePaths) {
+            deleteRecursively(stalePath);
+        }
+    }
+
+    public void put(String key, Ts2JavaByteCodes byteCodes) {
+        Path entryPath = versionPath.resolve(Objects.requireNonNull(key));
+        if (!Objects.requireNonNull(byteCodes).isValid() || Files.isDirectory(entryPath)) {
+            return;
+        }
+        Path tempPath = null;
+        try {
+            tempPath = Files.createTempDirectory(versionPath, key + TEMP_DIRECTORY_SUFFIX);
+            for (Map.Entry<String, byte[]> entry : byteCodes.getTypeDefinitions().entrySet()) {
+                Files.write(tempPath.resolve(entry.getKey() + CLASS_FILE_EXTENSION), entry.getValue());
+            }
+            // The index is written last so that a readable index implies complete class files.
+            Files.write(tempPath.resolve(INDEX_FILE_NAME), byteCodes.getClassNames(), StandardCharsets.UTF_8);
+            Files.move(tempPath, entryPath, StandardCopyOption.ATOMIC_MOVE);
+            tempPath = null;
+        } catch (FileAlreadyExistsException ignored) {
+            // Another writer has published the same entry.
+        } catch (IOException e) {
+            if (!Files.isDirectory(entryPath)) {
+                throw new Ts2JavaException("Failed to write " + key + " to the byte code cache.", e);
+            }
+        } finally {
+            if (tempPath != null) {
+                try {
+                    deleteRecursively(tempPath);
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    public void remove(String key) {
+        try {
+            deleteRecursively(versionPath.resolve(Objects.requireNonNull(key)));
+        } catch (IOException e) {
+            throw new Ts2JavaException("Failed to remove " + key + " from the byte code cache.", e);
+        }
+    }
+}
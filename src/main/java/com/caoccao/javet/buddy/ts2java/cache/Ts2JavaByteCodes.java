@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.ts2java.cache;
+
+import net.bytebuddy.dynamic.DynamicType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public final class Ts2JavaByteCodes {
+    private final List<String> classNames;
+    private final Map<String, byte[]> typeDefinitions;
+
+    public Ts2JavaByteCodes() {
+        classNames = new ArrayList<>();
+        typeDefinitions = new LinkedHashMap<>();
+    }
+
+    public Ts2JavaByteCodes add(DynamicType dynamicType) {
+        addClassName(dynamicType.getTypeDescription().getName());
+        dynamicType.getAllTypes().forEach((typeDescription, bytes) ->
+                putTypeDefinition(typeDescription.getName(), bytes));
+        return this;
+    }
+
+    public Ts2JavaByteCodes add(Ts2JavaByteCodes byteCodes) {
+        byteCodes.getClassNames().forEach(this::addClassName);
+        byteCodes.getTypeDefinitions().forEach(this::putTypeDefinition);
+        return this;
+    }
+
+    public Ts2JavaByteCodes addClassName(String className) {
+        classNames.add(Objects.requireNonNull(className));
+        return this;
+    }
+
+    public List<String> getClassNames() {
+        return Collections.unmodifiableList(classNames);
+    }
+
+    public long getSize() {
+        return typeDefinitions.values().stream().mapToLong(bytes -> bytes.length).sum();
+    }
+
+    public Map<String, byte[]> getTypeDefinitions() {
+        return Collections.unmodifiableMap(typeDefinitions);
+    }
+
+    public boolean isValid() {
+        return !classNames.isEmpty() && typeDefinitions.keySet().containsAll(classNames);
+    }
+
+    public Ts2JavaByteCodes putTypeDefinition(String typeName, byte[] bytes) {
+        typeDefinitions.put(Objects.requireNonNull(typeName), Objects.requireNonNull(bytes));
+        return this;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.ts2java.cache;
+
+import com.caoccao.javet.buddy.ts2java.exceptions.Ts2JavaException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public final class Ts2JavaCacheUtils {
+    private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private Ts2JavaCacheUtils() {
+    }
+
+    public static String hash(String... parts) {
+        MessageDigest messageDigest;
+        try {
+            messageDigest = MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new Ts2JavaException("Failed to create the " + HASH_ALGORITHM + " message digest.", e);
+        }
+        for (String part : parts) {
+            if (part == null) {
+                messageDigest.update((byte) 0);
+            } else {
+                byte[] bytes = part.getBytes(StandardCharsets.UTF_8);
+                // The length prefix keeps ("ab", "c") and ("a", "bc") apart.
+                messageDigest.update((byte) 1);
+                messageDigest.update(toBytes(bytes.length));
+                messageDigest.update(bytes);
+            }
+        }
+        return toHex(messageDigest.digest());
+    }
+
+    private static byte[] toBytes(int value) {
+        return new byte[]{(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value};
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX_CHARS[(bytes[i] >> 4) & 0x0F];
+            chars[i * 2 + 1] = HEX_CHARS[bytes[i] & 0x0F];
+        }
+        return new String(chars);
+    }
+}
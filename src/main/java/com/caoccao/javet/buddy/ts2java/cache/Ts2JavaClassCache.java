@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.ts2java.cache;
+
+import com.caoccao.javet.buddy.ts2java.exceptions.Ts2JavaException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class Ts2JavaClassCache {
+    public static final int DEFAULT_CAPACITY = 256;
+    protected final int capacity;
+    protected final AtomicLong evictionCount;
+    protected final AtomicLong hitCount;
+    protected final Map<String, List<Class<?>>> map;
+    protected final AtomicLong missCount;
+
+    public Ts2JavaClassCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public Ts2JavaClassCache(int capacity) {
+        if (capacity <= 0) {
+            throw new Ts2JavaException("The capacity of the class cache must be positive.");
+        }
+        this.capacity = capacity;
+        evictionCount = new AtomicLong();
+        hitCount = new AtomicLong();
+        missCount = new AtomicLong();
+        map = new LinkedHashMap<String, List<Class<?>>>(16, 0.75F, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<Class<?>>> eldest) {
+                if (size() > Ts2JavaClassCache.this.capacity) {
+                    evictionCount.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public void clear() {
+        synchronized (map) {
+            map.clear();
+        }
+    }
+
+    public List<Class<?>> get(String key) {
+        List<Class<?>> classes;
+        synchronized (map) {
+            classes = map.get(Objects.requireNonNull(key));
+        }
+        if (classes == null) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
+        }
+        return classes;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public void put(String key, List<Class<?>> classes) {
+        List<Class<?>> immutableClasses = Collections.unmodifiableList(new ArrayList<>(classes));
+        synchronized (map) {
+            map.put(Objects.requireNonNull(key), immutableClasses);
+        }
+    }
+
+    public List<Class<?>> remove(String key) {
+        synchronized (map) {
+            return map.remove(Objects.requireNonNull(key));
+        }
+    }
+
+    public void resetStatistics() {
+        evictionCount.set(0);
+        hitCount.set(0);
+        missCount.set(0);
+    }
+
+    public int size() {
+        synchronized (map) {
+            return map.size();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.ts2java.cache;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class Ts2JavaIncrementalCache {
+    protected final Map<String, Map<String, Entry>> moduleEntryMap;
+
+    public Ts2JavaIncrementalCache() {
+        moduleEntryMap = new ConcurrentHashMap<>();
+    }
+
+    public void clear() {
+        moduleEntryMap.clear();
+    }
+
+    public Ts2JavaByteCodes get(String moduleName, String className, String fingerprint) {
+        Entry entry = getEntry(moduleName, className);
+        return entry != null && entry.getFingerprint().equals(fingerprint) ? entry.getByteCodes() : null;
+    }
+
+    protected Entry getEntry(String moduleName, String className) {
+        Map<String, Entry> entryMap = moduleEntryMap.get(Objects.requireNonNull(moduleName));
+        return entryMap == null ? null : entryMap.get(Objects.requireNonNull(className));
+    }
+
+    public String getFingerprint(String moduleName, String className) {
+        Entry entry = getEntry(moduleName, className);
+        return entry == null ? null : entry.getFingerprint();
+    }
+
+    public void put(String moduleName, String className, String fingerprint, Ts2JavaByteCodes byteCodes) {
+        moduleEntryMap.computeIfAbsent(Objects.requireNonNull(moduleName), key -> new ConcurrentHashMap<>())
+                .put(Objects.requireNonNull(className), new Entry(fingerprint, byteCodes));
+    }
+
+    public void remove(String moduleName, String className) {
+        Map<String, Entry> entryMap = moduleEntryMap.get(Objects.requireNonNull(moduleName));
+        if (entryMap != null) {
+            entryMap.remove(Objects.requireNonNull(className));
+        }
+    }
+
+    public int retain(String moduleName, Collection<String> classNames) {
+        final Set<String> retainedClassNames = new HashSet<>(classNames);
+        final int originalSize = size();
+        // Only the entries of this module are pruned, so the modules sharing the cache do not evict each other.
+        Map<String, Entry> entryMap = moduleEntryMap.get(Objects.requireNonNull(moduleName));
+        if (entryMap != null) {
+            entryMap.keySet().retainAll(retainedClassNames);
+        }
+        // A class moved from another module, e.g. after the module is renamed, now belongs to this module.
+        moduleEntryMap.forEach((otherModuleName, otherEntryMap) -> {
+            if (!otherModuleName.equals(moduleName)) {
+                otherEntryMap.keySet().removeAll(retainedClassNames);
+            }
+        });
+        moduleEntryMap.values().removeIf(Map::isEmpty);
+        return originalSize - size();
+    }
+
+    public int size() {
+        return moduleEntryMap.values().stream().mapToInt(Map::size).sum();
+    }
+
+    protected static final class Entry {
+        private final Ts2JavaByteCodes byteCodes;
+        private final String fingerprint;
+
+        public Entry(String fingerprint, Ts2JavaByteCodes byteCodes) {
+            this.byteCodes = Objects.requireNonNull(byteCodes);
+            this.fingerprint = Objects.requireNonNull(fingerprint);
+        }
+
+        public Ts2JavaByteCodes getByteCodes() {
+            return byteCodes;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+    }
+}
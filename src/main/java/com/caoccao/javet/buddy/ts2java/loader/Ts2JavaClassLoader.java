@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.ts2java.loader;
+
+import net.bytebuddy.dynamic.loading.ByteArrayClassLoader;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class Ts2JavaClassLoader extends ByteArrayClassLoader {
+    protected final AtomicLong byteCodeSize;
+    protected final AtomicInteger classCount;
+
+    public Ts2JavaClassLoader() {
+        this(Ts2JavaClassLoader.class.getClassLoader());
+    }
+
+    public Ts2JavaClassLoader(ClassLoader parent) {
+        super(parent, false, Collections.emptyMap());
+        byteCodeSize = new AtomicLong();
+        classCount = new AtomicInteger();
+    }
+
+    @Override
+    protected Map<String, Class<?>> doDefineClasses(Map<String, byte[]> typeDefinitions)
+            throws ClassNotFoundException {
+        Map<String, Class<?>> loadedClassMap = super.doDefineClasses(typeDefinitions);
+        classCount.addAndGet(typeDefinitions.size());
+        byteCodeSize.addAndGet(typeDefinitions.values().stream().mapToLong(bytes -> bytes.length).sum());
+        return loadedClassMap;
+    }
+
+    public long getByteCodeSize() {
+        return byteCodeSize.get();
+    }
+
+    public int getClassCount() {
+        return classCount.get();
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.ts2java.loader;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+public final class Ts2JavaGeneration {
+    private final List<Class<?>> classes;
+    private final Ts2JavaClassLoader classLoader;
+    private final long id;
+
+    public Ts2JavaGeneration(long id, Ts2JavaClassLoader classLoader, List<Class<?>> classes) {
+        this.classes = Collections.unmodifiableList(new ArrayList<>(Objects.requireNonNull(classes)));
+        this.classLoader = Objects.requireNonNull(classLoader);
+        this.id = id;
+    }
+
+    public long getByteCodeSize() {
+        return classLoader.getByteCodeSize();
+    }
+
+    public Ts2JavaClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    public List<Class<?>> getClasses() {
+        return classes;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
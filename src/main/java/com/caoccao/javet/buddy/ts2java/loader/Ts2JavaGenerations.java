@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.ts2java.loader;
+
+import com.caoccao.javet.buddy.ts2java.Ts2Java;
+import com.caoccao.javet.buddy.ts2java.exceptions.Ts2JavaException;
+import com.caoccao.javet.swc4j.exceptions.Swc4jCoreException;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.ref.PhantomReference;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class Ts2JavaGenerations {
+    protected static final String METASPACE = "Metaspace";
+    protected final AtomicLong currentId;
+    protected final Map<Long, GenerationReference> generationReferenceMap;
+    protected final ClassLoader parentClassLoader;
+    protected final ReferenceQueue<Ts2JavaClassLoader> referenceQueue;
+    protected final AtomicLong releasedGenerationCount;
+    protected volatile Ts2JavaGeneration currentGeneration;
+
+    public Ts2JavaGenerations() {
+        this(Ts2JavaGenerations.class.getClassLoader());
+    }
+
+    public Ts2JavaGenerations(ClassLoader parentClassLoader) {
+        this.parentClassLoader = parentClassLoader;
+        currentGeneration = null;
+        currentId = new AtomicLong();
+        generationReferenceMap = new ConcurrentHashMap<>();
+        referenceQueue = new ReferenceQueue<>();
+        releasedGenerationCount = new AtomicLong();
+    }
+
+    public static long getMetaspaceUsage() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(memoryPoolMXBean -> METASPACE.equals(memoryPoolMXBean.getName()))
+                .map(MemoryPoolMXBean::getUsage)
+                .mapToLong(MemoryUsage::getUsed)
+                .findFirst()
+                .orElse(-1L);
+    }
+
+    public Ts2JavaGeneration getCurrentGeneration() {
+        return currentGeneration;
+    }
+
+    public int getLiveGenerationCount() {
+        purge();
+        return generationReferenceMap.size();
+    }
+
+    public long getLiveByteCodeSize() {
+        purge();
+        return generationReferenceMap.values().stream()
+                .mapToLong(GenerationReference::getByteCodeSize)
+                .sum();
+    }
+
+    public ClassLoader getParentClassLoader() {
+        return parentClassLoader;
+    }
+
+    public long getReleasedGenerationCount() {
+        purge();
+        return releasedGenerationCount.get();
+    }
+
+    public Ts2JavaGeneration load(String packageName, String tsCode) throws Swc4jCoreException {
+        return load(new Ts2Java(packageName, tsCode));
+    }
+
+    public Ts2JavaGeneration load(Ts2Java ts2Java) throws Swc4jCoreException {
+        Objects.requireNonNull(ts2Java);
+        if (ts2Java.getClassCache() != null) {
+            throw new Ts2JavaException("The class cache cannot be used with generations because it pins the class loaders.");
+        }
+        if (ts2Java.getClassLoader() != null || ts2Java.getClassLoadingStrategy() != null) {
+            throw new Ts2JavaException("The class loader of a generation is managed by the generations.");
+        }
+        purge();
+        Ts2JavaClassLoader classLoader = new Ts2JavaClassLoader(parentClassLoader);
+        ts2Java.setClassLoader(classLoader);
+        try {
+            ts2Java.transpile();
+        } finally {
+            ts2Java.setClassLoader(null);
+        }
+        Ts2JavaGeneration generation = new Ts2JavaGeneration(
+                currentId.incrementAndGet(),
+                classLoader,
+                ts2Java.getClasses());
+        generationReferenceMap.put(
+                generation.getId(),
+                new GenerationReference(generation, referenceQueue));
+        currentGeneration = generation;
+        return generation;
+    }
+
+    protected void purge() {
+        Reference<? extends Ts2JavaClassLoader> reference;
+        while ((reference = referenceQueue.poll()) != null) {
+            if (generationReferenceMap.remove(((GenerationReference) reference).getId()) != null) {
+                releasedGenerationCount.incrementAndGet();
+            }
+        }
+    }
+
+    protected static class GenerationReference extends PhantomReference<Ts2JavaClassLoader> {
+        protected final long byteCodeSize;
+        protected final long id;
+
+        public GenerationReference(Ts2JavaGeneration generation, ReferenceQueue<Ts2JavaClassLoader> referenceQueue) {
+            super(generation.getClassLoader(), referenceQueue);
+            byteCodeSize = generation.getByteCodeSize();
+            id = generation.getId();
+        }
+
+        public long getByteCodeSize() {
+            return byteCodeSize;
+        }
+
+        public long getId() {
+            return id;
+        }
+    }
+}
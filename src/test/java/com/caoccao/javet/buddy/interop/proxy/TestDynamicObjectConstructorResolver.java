@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.interop.proxy;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Constructor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestDynamicObjectConstructorResolver {
+    @Test
+    public void testAssignability() throws Exception {
+        Constructor<TestObject> constructor = DynamicObjectConstructorResolver.resolve(TestObject.class, String.class);
+        assertArrayEquals(new Class<?>[]{CharSequence.class}, constructor.getParameterTypes());
+        assertEquals("a", constructor.newInstance("a").value);
+        constructor = DynamicObjectConstructorResolver.resolve(TestObject.class, (Class<?>) null);
+        assertArrayEquals(new Class<?>[]{CharSequence.class}, constructor.getParameterTypes(),
+                "Null should match the reference type.");
+        assertThrows(
+                NoSuchMethodException.class,
+                () -> DynamicObjectConstructorResolver.resolve(TestObject.class, Boolean.class, Boolean.class));
+    }
+
+    @Test
+    public void testCache() throws Exception {
+        assertSame(
+                DynamicObjectConstructorResolver.resolve(TestObject.class, Integer.class, Integer.class),
+                DynamicObjectConstructorResolver.resolve(TestObject.class, Integer.class, Integer.class));
+    }
+
+    @Test
+    public void testPrimitiveWidening() throws Exception {
+        Constructor<TestObject> constructor =
+                DynamicObjectConstructorResolver.resolve(TestObject.class, Integer.class, Integer.class);
+        assertArrayEquals(new Class<?>[]{int.class, double.class}, constructor.getParameterTypes(),
+                "The most specific constructor should be resolved.");
+        assertEquals("3.0", constructor.newInstance(1, 2).value);
+        constructor = DynamicObjectConstructorResolver.resolve(TestObject.class, Long.class, Integer.class);
+        assertArrayEquals(new Class<?>[]{long.class, double.class}, constructor.getParameterTypes());
+        assertEquals("3.0", constructor.newInstance(1L, 2).value);
+        assertTrue(DynamicObjectConstructorResolver.isAssignable(long.class, Character.class));
+        assertFalse(DynamicObjectConstructorResolver.isAssignable(int.class, Long.class));
+        assertFalse(DynamicObjectConstructorResolver.isAssignable(int.class, null));
+    }
+
+    public static class TestObject {
+        public final String value;
+
+        public TestObject(CharSequence value) {
+            this.value = value == null ? null : value.toString();
+        }
+
+        public TestObject(int a, double b) {
+            this.value = Double.toString(a + b);
+        }
+
+        public TestObject(long a, double b) {
+            this.value = Double.toString(a + b);
+        }
+    }
+}
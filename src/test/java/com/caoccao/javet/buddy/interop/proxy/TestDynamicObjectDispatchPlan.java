@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.interop.proxy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestDynamicObjectDispatchPlan {
+    @Test
+    public void testPropertyName() throws Exception {
+        assertEquals("value", DynamicObjectDispatchPlan.getPropertyName(TestBean.class.getMethod("getValue")));
+        assertEquals("passed", DynamicObjectDispatchPlan.getPropertyName(TestBean.class.getMethod("isPassed")));
+        assertEquals("value", DynamicObjectDispatchPlan.getPropertyName(TestBean.class.getMethod("setValue", int.class)));
+        assertEquals("uRL", DynamicObjectDispatchPlan.getPropertyName(TestBean.class.getMethod("getURL")));
+        assertNull(DynamicObjectDispatchPlan.getPropertyName(TestBean.class.getMethod("get")));
+        assertNull(DynamicObjectDispatchPlan.getPropertyName(TestBean.class.getMethod("getValue", int.class)),
+                "A getter should not take arguments.");
+        assertNull(DynamicObjectDispatchPlan.getPropertyName(TestBean.class.getMethod("setValue", int.class, int.class)),
+                "A setter should take exactly one argument.");
+        assertNull(DynamicObjectDispatchPlan.getPropertyName(TestBean.class.getMethod("add", int.class, int.class)));
+        assertSame(
+                DynamicObjectDispatchPlan.getPropertyName(TestBean.class.getMethod("getValue")),
+                DynamicObjectDispatchPlan.getPropertyName(TestBean.class.getMethod("getValue")),
+                "The property name should be computed once per method.");
+    }
+
+    @Test
+    public void testResolve() throws Exception {
+        DynamicObjectShape shape = DynamicObjectShape.of("fadd\nFget\npfetch\nPuRL\npvalue\n");
+        DynamicObjectDispatchPlan addPlan = shape.getDispatchPlan(TestBean.class.getMethod("add", int.class, int.class));
+        assertEquals(DynamicObjectDispatchPlan.Type.Function, addPlan.getType());
+        assertFalse(addPlan.isSuperRequired());
+        assertTrue(shape.getDispatchPlan(TestBean.class.getMethod("get")).isSuperRequired());
+        assertEquals(DynamicObjectDispatchPlan.Type.Property,
+                shape.getDispatchPlan(TestBean.class.getMethod("fetch")).getType());
+        DynamicObjectDispatchPlan getURLPlan = shape.getDispatchPlan(TestBean.class.getMethod("getURL"));
+        assertEquals(DynamicObjectDispatchPlan.Type.Getter, getURLPlan.getType());
+        assertTrue(getURLPlan.isSuperRequired());
+        assertEquals(DynamicObjectDispatchPlan.Type.Getter,
+                shape.getDispatchPlan(TestBean.class.getMethod("getValue")).getType());
+        assertEquals(DynamicObjectDispatchPlan.Type.Setter,
+                shape.getDispatchPlan(TestBean.class.getMethod("setValue", int.class)).getType());
+        assertEquals(DynamicObjectDispatchPlan.Type.Super,
+                shape.getDispatchPlan(TestBean.class.getMethod("isPassed")).getType());
+        assertSame(addPlan, shape.getDispatchPlan(TestBean.class.getMethod("add", int.class, int.class)),
+                "The plan should be cached by the shape.");
+    }
+
+    @Test
+    public void testReturnType() throws Exception {
+        assertEquals(DynamicObjectDispatchPlan.ReturnType.Integer, DynamicObjectDispatchPlan.ReturnType.of(int.class));
+        assertEquals(DynamicObjectDispatchPlan.ReturnType.Object, DynamicObjectDispatchPlan.ReturnType.of(Integer.class),
+                "The wrapper types should not be typed.");
+        assertEquals(DynamicObjectDispatchPlan.ReturnType.Future,
+                DynamicObjectDispatchPlan.ReturnType.of(CompletableFuture.class));
+        assertEquals(DynamicObjectDispatchPlan.ReturnType.Future,
+                DynamicObjectDispatchPlan.ReturnType.of(CompletionStage.class));
+        assertEquals(DynamicObjectDispatchPlan.ReturnType.Integer,
+                DynamicObjectDispatchPlan.ReturnType.ofFutureResult(Integer.class));
+        assertEquals(DynamicObjectDispatchPlan.ReturnType.Void,
+                DynamicObjectDispatchPlan.ReturnType.ofFutureResult(Void.class));
+        assertTrue(DynamicObjectDispatchPlan.isAsync(TestBean.class.getMethod("fetch")));
+        assertFalse(DynamicObjectDispatchPlan.isAsync(TestBean.class.getMethod("get")));
+    }
+
+    public static class TestBean {
+        public int add(int a, int b) {
+            return a + b;
+        }
+
+        public CompletableFuture<String> fetch() {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        public int get() {
+            return 0;
+        }
+
+        public String getURL() {
+            return null;
+        }
+
+        public int getValue() {
+            return 0;
+        }
+
+        public int getValue(int index) {
+            return index;
+        }
+
+        public boolean isPassed() {
+            return false;
+        }
+
+        public void setValue(int value) {
+        }
+
+        public void setValue(int index, int value) {
+        }
+    }
+}
@@ -22,13 +22,28 @@ import com.caoccao.javet.interfaces.IJavetAnonymous;
 import com.caoccao.javet.interop.V8Host;
 import com.caoccao.javet.interop.V8Runtime;
 import com.caoccao.javet.interop.converters.JavetProxyConverter;
+import com.caoccao.javet.values.V8Value;
+import com.caoccao.javet.values.reference.V8ValueFunction;
 import com.caoccao.javet.values.reference.V8ValueObject;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -53,6 +68,17 @@ public class TestJavetReflectionObjectFactory {
         v8Runtime.setConverter(javetProxyConverter);
     }
 
+    protected DynamicObjectInvocationHandler<?> createHandlerWithoutObject(JavetReflectionObjectFactory factory)
+            throws JavetException {
+        // The object is created in a separate frame so that no local variable keeps it reachable.
+        try (V8ValueObject v8ValueObject = v8Runtime.getExecutor("({ add: (a, b) => a + b })").execute()) {
+            TestDynamicObjectForceCloseable object =
+                    (TestDynamicObjectForceCloseable) factory.toObject(TestDynamicObjectForceCloseable.class, v8ValueObject);
+            assertEquals(3, object.add(1, 2));
+            return DynamicObjectInvocationHandler.getHandler(object);
+        }
+    }
+
     @Test
     public void testExtendHandlerArrayList() throws JavetException {
         MockExtend mockExtend = new MockExtend(ArrayList.class);
@@ -129,6 +155,340 @@ public class TestJavetReflectionObjectFactory {
         v8Runtime.getGlobalObject().delete("a");
     }
 
+    @Test
+    public void testInvocationHandlerCloseCallsSuper() throws Exception {
+        JavetReflectionObjectFactory factory = JavetReflectionObjectFactory.getInstance();
+        try (V8ValueObject v8ValueObject = v8Runtime.getExecutor("({ add: (a, b) => a + b })").execute()) {
+            TestDynamicObjectAutoCloseable object =
+                    (TestDynamicObjectAutoCloseable) factory.toObject(TestDynamicObjectAutoCloseable.class, v8ValueObject);
+            DynamicObjectInvocationHandler<?> handler = DynamicObjectInvocationHandler.getHandler(object);
+            assertNotNull(handler);
+            assertThrows(NoSuchFieldException.class, () -> object.getClass().getField("$handler"),
+                    "The handler field should not be public.");
+            assertEquals(3, object.add(1, 2));
+            object.close();
+            assertTrue(handler.isClosed());
+            assertEquals(1, object.closeCount, "The close() of the super class should be called.");
+        }
+    }
+
+    @Test
+    public void testInvocationHandlerObjectClassIsCached() throws Exception {
+        JavetReflectionObjectFactory factory = JavetReflectionObjectFactory.getInstance();
+        try (V8ValueObject v8ValueObject1 = v8Runtime.getExecutor("({ add: (a, b) => a + b })").execute();
+             V8ValueObject v8ValueObject2 = v8Runtime.getExecutor("({ add: (a, b) => a * b })").execute()) {
+            TestDynamicObjectForceCloseable object1 =
+                    (TestDynamicObjectForceCloseable) factory.toObject(TestDynamicObjectForceCloseable.class, v8ValueObject1);
+            TestDynamicObjectForceCloseable object2 =
+                    (TestDynamicObjectForceCloseable) factory.toObject(TestDynamicObjectForceCloseable.class, v8ValueObject2);
+            assertNotNull(object1);
+            assertNotNull(object2);
+            assertNotSame(object1, object2);
+            assertSame(object1.getClass(), object2.getClass(), "The object class should be shared.");
+            DynamicObjectInvocationHandler<?> handler1 = DynamicObjectInvocationHandler.getHandler(object1);
+            assertNotNull(handler1);
+            assertTrue(factory.getInvocationHandlerMap().containsKey(handler1.getHandle()));
+            assertEquals(5, object1.add(2, 3));
+            assertEquals(6, object2.add(2, 3));
+            assertEquals("a", object1.getDescription(), "Non-intercepted method should call super.");
+            ((AutoCloseable) object1).close();
+            assertEquals(0, object1.add(2, 3), "Closed object should call super.");
+            assertFalse(factory.getInvocationHandlerMap().containsKey(handler1.getHandle()),
+                    "The handler should be evicted once it is closed.");
+            assertEquals(6, object2.add(2, 3));
+            ((AutoCloseable) object2).close();
+        }
+    }
+
+    @Test
+    public void testInvocationHandlerObjectClassOfInterface() throws Exception {
+        JavetReflectionObjectFactory factory = JavetReflectionObjectFactory.getInstance();
+        try (V8ValueObject v8ValueObject1 = v8Runtime.getExecutor("({ test: () => 'a' })").execute();
+             V8ValueObject v8ValueObject2 = v8Runtime.getExecutor(
+                     "({ test: () => 'b', toString: () => 'custom' })").execute()) {
+            TestInterface object1 = (TestInterface) factory.toObject(TestInterface.class, v8ValueObject1);
+            TestInterface object2 = (TestInterface) factory.toObject(TestInterface.class, v8ValueObject2);
+            assertNotSame(object1.getClass(), object2.getClass(),
+                    "The object class should not be shared if only one JS object provides toString().");
+            assertEquals("a", object1.test());
+            assertEquals("b", object2.test());
+            assertNotEquals("custom", object1.toString());
+            assertEquals("custom", object2.toString());
+            ((AutoCloseable) object1).close();
+            ((AutoCloseable) object2).close();
+        }
+    }
+
+    @Test
+    public void testInvocationHandlerDispatchPlan() throws Exception {
+        JavetReflectionObjectFactory factory = JavetReflectionObjectFactory.getInstance();
+        try (V8ValueObject v8ValueObject = v8Runtime.getExecutor("({ add: (a, b) => a + b, value: 1 })").execute()) {
+            TestDynamicObjectForceCloseable object =
+                    (TestDynamicObjectForceCloseable) factory.toObject(TestDynamicObjectForceCloseable.class, v8ValueObject);
+            DynamicObjectInvocationHandler<?> handler = DynamicObjectInvocationHandler.getHandler(object);
+            assertNotNull(handler);
+            assertEquals(3, object.add(1, 2));
+            assertEquals(1, object.getValue());
+            Method addMethod = TestDynamicObjectForceCloseable.class.getMethod("add", int.class, int.class);
+            Method getValueMethod = TestDynamicObjectForceCloseable.class.getMethod("getValue");
+            assertEquals(DynamicObjectDispatchPlan.Type.Function, handler.getDispatchPlan(addMethod).getType());
+            assertEquals(DynamicObjectDispatchPlan.Type.Getter, handler.getDispatchPlan(getValueMethod).getType());
+            try (V8ValueFunction v8ValueFunction = v8Runtime.getExecutor("() => 5").execute()) {
+                handler.v8ValueObject.set("getValue", v8ValueFunction);
+            }
+            assertEquals(1, object.getValue(), "The cached plan should be used.");
+            handler.invalidate();
+            assertEquals(5, object.getValue(), "The plan should be resolved again after invalidation.");
+            assertEquals(DynamicObjectDispatchPlan.Type.Function, handler.getDispatchPlan(getValueMethod).getType());
+            assertEquals(3, object.add(1, 2));
+            assertEquals(2, handler.functionMap.size(), "The functions should be cached.");
+            handler.v8ValueObject.set("add", 1);
+            assertEquals(3, object.add(1, 2), "The cached function should be used.");
+            handler.invalidate();
+            assertTrue(handler.functionMap.isEmpty());
+            assertEquals(0, object.add(1, 2), "The plan should be resolved again after invalidation.");
+            assertEquals(DynamicObjectDispatchPlan.Type.Super, handler.getDispatchPlan(addMethod).getType());
+            ((AutoCloseable) object).close();
+        }
+    }
+
+    @Test
+    public void testInvocationHandlerStalePlan() throws Exception {
+        JavetReflectionObjectFactory factory = JavetReflectionObjectFactory.getInstance();
+        try (V8ValueObject v8ValueObject1 = v8Runtime.getExecutor("({ title: 'b', value: 1 })").execute();
+             V8ValueObject v8ValueObject2 = v8Runtime.getExecutor("({ title: 'c', value: 0 })").execute();
+             V8ValueObject v8ValueObject3 = v8Runtime.getExecutor("({})").execute()) {
+            TestDynamicObjectForceCloseable object1 =
+                    (TestDynamicObjectForceCloseable) factory.toObject(TestDynamicObjectForceCloseable.class, v8ValueObject1);
+            TestDynamicObjectForceCloseable object2 =
+                    (TestDynamicObjectForceCloseable) factory.toObject(TestDynamicObjectForceCloseable.class, v8ValueObject2);
+            DynamicObjectInvocationHandler<?> handler1 = DynamicObjectInvocationHandler.getHandler(object1);
+            DynamicObjectInvocationHandler<?> handler2 = DynamicObjectInvocationHandler.getHandler(object2);
+            assertNotNull(handler1);
+            assertNotNull(handler2);
+            Method getTitleMethod = TestDynamicObjectForceCloseable.class.getMethod("getTitle");
+            Method getValueMethod = TestDynamicObjectForceCloseable.class.getMethod("getValue");
+            assertEquals("b", object1.getTitle());
+            assertEquals(0, object2.getValue(), "A property with the default value should not be treated as gone.");
+            assertSame(handler1.getShape(), handler2.getShape(), "The shape should be shared by the same shape.");
+            assertSame(handler1.getDispatchPlan(getTitleMethod), handler2.getDispatchPlan(getTitleMethod),
+                    "The plan should be shared by the same shape.");
+            handler1.v8ValueObject.delete("title");
+            handler1.v8ValueObject.delete("value");
+            assertEquals("a", object1.getTitle(), "A missing property should fall back to super.");
+            assertEquals(DynamicObjectDispatchPlan.Type.Super, handler1.getDispatchPlan(getTitleMethod).getType());
+            assertEquals(DynamicObjectDispatchPlan.Type.Super, handler1.getDispatchPlan(getValueMethod).getType());
+            assertSame(factory.getRegistry(v8Runtime).getShape(v8ValueObject3), handler1.getShape(),
+                    "The shape should be captured again by the registry.");
+            assertEquals("c", object2.getTitle(), "The other handlers should not be affected.");
+            assertEquals(DynamicObjectDispatchPlan.Type.Getter, handler2.getDispatchPlan(getValueMethod).getType());
+            handler2.v8ValueObject.set("title", v8Runtime.createV8ValueUndefined());
+            assertNull(object2.getTitle(), "An undefined property should not be treated as gone.");
+            assertEquals(DynamicObjectDispatchPlan.Type.Getter, handler2.getDispatchPlan(getTitleMethod).getType());
+            ((AutoCloseable) object1).close();
+            ((AutoCloseable) object2).close();
+        }
+    }
+
+    @Test
+    public void testInvocationHandlerTypedCall() throws Exception {
+        JavetReflectionObjectFactory factory = JavetReflectionObjectFactory.getInstance();
+        try (V8ValueObject v8ValueObject = v8Runtime.getExecutor("({\n" +
+                "  add: (a, b) => a / b,\n" +
+                "  getNumber: (n) => n * 2,\n" +
+                "  join: (a, b, c, d) => [a, typeof b, b, c, d].join(','),\n" +
+                "  log: (message, level) => { globalThis.logged = message + level; return message; },\n" +
+                "  ratio: 2,\n" +
+                "})").execute()) {
+            TestDynamicObjectForceCloseable object =
+                    (TestDynamicObjectForceCloseable) factory.toObject(TestDynamicObjectForceCloseable.class, v8ValueObject);
+            assertEquals(2.0, object.getRatio(), 0.001, "JS integer should be coerced to double.");
+            assertEquals(1, object.add(3, 2), "JS double should be coerced to int.");
+            assertEquals(6, object.getNumber(3));
+            assertEquals("a,bigint,2,true,1.5", object.join("a", 2L, true, 1.5D),
+                    "Primitive arguments should be converted like the converter does.");
+            assertEquals(",bigint,2,false,0", object.join(null, 2L, false, 0D));
+            object.log("a", 1);
+            assertEquals("a1", v8Runtime.getGlobalObject().getString("logged"),
+                    "The void function should be called.");
+            v8Runtime.getGlobalObject().delete("logged");
+            DynamicObjectInvocationHandler<?> handler = DynamicObjectInvocationHandler.getHandler(object);
+            assertNotNull(handler);
+            assertEquals(
+                    DynamicObjectDispatchPlan.ReturnType.Double,
+                    handler.getDispatchPlan(TestDynamicObjectForceCloseable.class.getMethod("getRatio")).getReturnType());
+            assertEquals(
+                    DynamicObjectDispatchPlan.ReturnType.Integer,
+                    handler.getDispatchPlan(TestDynamicObjectForceCloseable.class.getMethod("add", int.class, int.class)).getReturnType());
+            ((AutoCloseable) object).close();
+        }
+    }
+
+    @Test
+    public void testInvocationHandlerSelectiveInterception() throws Exception {
+        JavetReflectionObjectFactory factory = JavetReflectionObjectFactory.getInstance();
+        try (V8ValueObject v8ValueObject1 = v8Runtime.getExecutor("({ add: (a, b) => a + b, title: 'b' })").execute();
+             V8ValueObject v8ValueObject2 = v8Runtime.getExecutor("({ add: (a, b) => a * b, title: 'c' })").execute();
+             V8ValueObject v8ValueObject3 = v8Runtime.getExecutor(
+                     "new (class { add(a, b) { return a - b; } })()").execute();
+             V8ValueObject v8ValueObject4 = v8Runtime.getExecutor(
+                     "({ add: (a, b) => a + b, title: 'e', extra: 1 })").execute()) {
+            TestDynamicObjectForceCloseable object1 =
+                    (TestDynamicObjectForceCloseable) factory.toObject(TestDynamicObjectForceCloseable.class, v8ValueObject1);
+            TestDynamicObjectForceCloseable object2 =
+                    (TestDynamicObjectForceCloseable) factory.toObject(TestDynamicObjectForceCloseable.class, v8ValueObject2);
+            TestDynamicObjectForceCloseable object3 =
+                    (TestDynamicObjectForceCloseable) factory.toObject(TestDynamicObjectForceCloseable.class, v8ValueObject3);
+            assertSame(object1.getClass(), object2.getClass(), "The object class should be shared by the same shape.");
+            assertNotSame(object1.getClass(), object3.getClass());
+            TestDynamicObjectForceCloseable object4 =
+                    (TestDynamicObjectForceCloseable) factory.toObject(TestDynamicObjectForceCloseable.class, v8ValueObject4);
+            assertSame(object1.getClass(), object4.getClass(),
+                    "The data properties not mapped to any method should not generate a new object class.");
+            assertEquals("e", object4.getTitle());
+            ((AutoCloseable) object4).close();
+            Set<String> declaredMethodNames = Arrays.stream(object1.getClass().getDeclaredMethods())
+                    .map(Method::getName)
+                    .collect(Collectors.toSet());
+            assertTrue(declaredMethodNames.contains("add"));
+            assertTrue(declaredMethodNames.contains("getTitle"));
+            assertTrue(declaredMethodNames.contains("close"));
+            assertFalse(declaredMethodNames.contains("getDescription"), "Methods not provided by JS should be inherited.");
+            assertFalse(declaredMethodNames.contains("getValue"), "Methods not provided by JS should be inherited.");
+            assertFalse(declaredMethodNames.contains("hashCode"), "Methods not provided by JS should be inherited.");
+            assertEquals("b", object1.getTitle());
+            assertEquals("c", object2.getTitle());
+            assertEquals("a", object3.getTitle());
+            assertEquals(-1, object3.add(2, 3));
+            DynamicObjectInvocationHandler<?> handler3 = DynamicObjectInvocationHandler.getHandler(object3);
+            assertNotNull(handler3);
+            assertTrue(handler3.getShape().getPropertyNames().contains("add"),
+                    "The shape should include the functions of the JS class.");
+            assertFalse(handler3.getShape().getPropertyNames().contains("toString"),
+                    "The shape should not include the functions of Object.prototype.");
+            handler3.v8ValueObject.set("title", "d");
+            handler3.invalidate();
+            assertEquals("a", object3.getTitle(), "Properties added afterwards should not override inherited code.");
+            ((AutoCloseable) object1).close();
+            ((AutoCloseable) object2).close();
+            ((AutoCloseable) object3).close();
+        }
+    }
+
+    @Test
+    public void testInvocationHandlerSuperIsReentrant() throws Exception {
+        JavetReflectionObjectFactory factory = JavetReflectionObjectFactory.getInstance();
+        try (V8ValueObject v8ValueObjectA = v8Runtime.getExecutor("({\n" +
+                "  add: (a, b) => a + b,\n" +
+                "  getName: () => { const n = b.getNumber(1); return $super.getName() + n; },\n" +
+                "})").execute();
+             V8ValueObject v8ValueObjectB = v8Runtime.getExecutor("({\n" +
+                     "  getNumber: (n) => $super.getNumber(n) + n,\n" +
+                     "})").execute();
+             V8ValueObject v8ValueObjectC = v8Runtime.getExecutor("(() => {\n" +
+                     "  const o = { getName: function () { return $super.getName() + 'c'; }.bind(null) };\n" +
+                     "  Object.defineProperty(o, 'title', {\n" +
+                     "    get: function () { return $super.getTitle() + 'd'; }.bind(null),\n" +
+                     "  });\n" +
+                     "  return o;\n" +
+                     "})()").execute()) {
+            TestDynamicObjectForceCloseable objectA =
+                    (TestDynamicObjectForceCloseable) factory.toObject(TestDynamicObjectForceCloseable.class, v8ValueObjectA);
+            TestDynamicObjectForceCloseable objectB =
+                    (TestDynamicObjectForceCloseable) factory.toObject(TestDynamicObjectForceCloseable.class, v8ValueObjectB);
+            TestDynamicObjectForceCloseable objectC =
+                    (TestDynamicObjectForceCloseable) factory.toObject(TestDynamicObjectForceCloseable.class, v8ValueObjectC);
+            v8Runtime.getGlobalObject().set("b", objectB);
+            assertEquals(3, objectA.add(1, 2));
+            try (V8Value v8ValueSuper = v8Runtime.getGlobalObject().get("$super")) {
+                assertTrue(v8ValueSuper.isUndefined(), "$super should not be bound for functions not referencing it.");
+            }
+            assertEquals("a2", objectA.getName(), "$super should be restored after a nested call.");
+            try (V8Value v8ValueSuper = v8Runtime.getGlobalObject().get("$super")) {
+                assertTrue(v8ValueSuper.isUndefined());
+            }
+            assertEquals("ac", objectC.getName(), "$super should be bound for the bound functions.");
+            assertEquals("ad", objectC.getTitle(), "$super should be bound for the bound accessors.");
+            v8Runtime.getGlobalObject().delete("b");
+            ((AutoCloseable) objectA).close();
+            ((AutoCloseable) objectB).close();
+            ((AutoCloseable) objectC).close();
+        }
+    }
+
+    @Test
+    public void testInvocationHandlerReleasedByTracker() throws Exception {
+        JavetReflectionObjectFactory factory = JavetReflectionObjectFactory.getInstance();
+        DynamicObjectTracker tracker = DynamicObjectTracker.getInstance();
+        final long leakedCount = tracker.getLeakedCount();
+        DynamicObjectInvocationHandler<?> handler = createHandlerWithoutObject(factory);
+        assertNotNull(handler);
+        assertFalse(handler.isClosed());
+        for (int i = 0; i < 50 && !handler.isClosed(); i++) {
+            System.gc();
+            Thread.sleep(20);
+            tracker.drain();
+        }
+        assertTrue(handler.isClosed(), "The handler should be closed once the object is unreachable.");
+        assertTrue(tracker.getLeakedCount() > leakedCount);
+        assertFalse(factory.getInvocationHandlerMap().containsKey(handler.getHandle()),
+                "The handler should be evicted once the object is unreachable.");
+    }
+
+    @Test
+    public void testInvocationHandlerReleasedByPurge() throws Exception {
+        JavetReflectionObjectFactory factory = JavetReflectionObjectFactory.getInstance();
+        DynamicObjectInvocationHandler<?> handler = createHandlerWithoutObject(factory);
+        assertNotNull(handler);
+        for (int i = 0; i < 50 && !handler.isClosed(); i++) {
+            System.gc();
+            Thread.sleep(20);
+            factory.purge();
+        }
+        assertTrue(handler.isClosed(), "The handler should be closed on the caller thread of purge().");
+        assertTrue(Thread.getAllStackTraces().keySet().stream()
+                        .noneMatch(thread -> thread.getName().contains("dynamic-object-tracker")),
+                "The tracker should not keep a thread alive.");
+    }
+
+    @Test
+    public void testRegistryPerV8Runtime() throws Exception {
+        JavetReflectionObjectFactory factory = JavetReflectionObjectFactory.getInstance();
+        try (V8Runtime otherV8Runtime = V8Host.getV8Instance().createV8Runtime();
+             V8ValueObject v8ValueObject = v8Runtime.getExecutor("({ add: (a, b) => a + b })").execute();
+             V8ValueObject otherV8ValueObject = otherV8Runtime.getExecutor("({ add: (a, b) => a * b })").execute()) {
+            TestDynamicObjectForceCloseable object =
+                    (TestDynamicObjectForceCloseable) factory.toObject(TestDynamicObjectForceCloseable.class, v8ValueObject);
+            TestDynamicObjectForceCloseable otherObject =
+                    (TestDynamicObjectForceCloseable) factory.toObject(TestDynamicObjectForceCloseable.class, otherV8ValueObject);
+            DynamicObjectRegistry registry = factory.getRegistry(v8Runtime);
+            DynamicObjectRegistry otherRegistry = factory.getRegistry(otherV8Runtime);
+            assertNotNull(registry);
+            assertNotNull(otherRegistry);
+            assertNotSame(registry, otherRegistry);
+            assertEquals(1, registry.getLiveCount());
+            assertEquals(1, otherRegistry.getLiveCount());
+            assertEquals(6, otherObject.add(2, 3));
+            assertEquals(1, factory.release(otherV8Runtime));
+            assertNull(factory.getRegistry(otherV8Runtime));
+            assertEquals(0, otherRegistry.getLiveCount());
+            assertEquals(1, otherRegistry.getClosedCount());
+            assertEquals(0, otherObject.add(2, 3), "Released object should call super.");
+            assertEquals(5, object.add(2, 3), "Objects of other V8 runtimes should not be released.");
+            assertEquals(1, registry.getLiveCount());
+            assertEquals(1, registry.getCreatedCount());
+            for (int i = 0; i < 300; i++) {
+                try (V8ValueObject v8ValueObjectOfNewShape = v8Runtime.getExecutor("({ key" + i + ": 1 })").execute()) {
+                    registry.getShape(v8ValueObjectOfNewShape);
+                }
+            }
+            assertTrue(registry.getShapeCount() <= 256, "The interned shapes should be bounded.");
+            ((AutoCloseable) object).close();
+            assertEquals(0, registry.getLiveCount());
+            assertEquals(1, registry.getClosedCount());
+        }
+    }
+
     @Test
     public void testInvocationHandlerFile() throws JavetException {
         IJavetAnonymous anonymous = new IJavetAnonymous() {
@@ -188,6 +548,128 @@ public class TestJavetReflectionObjectFactory {
         v8Runtime.getGlobalObject().delete("a");
     }
 
+    @Test
+    public void testAsync() throws Exception {
+        JavetReflectionObjectFactory factory = JavetReflectionObjectFactory.getInstance();
+        v8Runtime.getExecutor("var resolvePending; var pending = new Promise(r => resolvePending = r);").executeVoid();
+        TestAsync object;
+        try (V8ValueObject v8ValueObject = v8Runtime.getExecutor("({\n" +
+                "  add: async (a, b) => a + b,\n" +
+                "  fail: async () => { throw new Error('boom'); },\n" +
+                "  fetch: async (key) => key + await pending,\n" +
+                "  ratio: Promise.resolve(3),\n" +
+                "})").execute()) {
+            object = (TestAsync) factory.toObject(TestAsync.class, v8ValueObject);
+        }
+        // Without the executor, the settled promises complete the futures before returning.
+        assertEquals(3, object.add(1, 2).getNow(null));
+        assertEquals(3.0D, object.getRatio().getNow(null), "The result should be coerced to Double.");
+        ExecutionException executionException = assertThrows(
+                ExecutionException.class, () -> object.fail().toCompletableFuture().get());
+        assertInstanceOf(JavetException.class, executionException.getCause());
+        assertTrue(executionException.getCause().getMessage().contains("boom"));
+        CompletableFuture<String> pendingFuture = object.fetch("a");
+        assertFalse(pendingFuture.isDone(), "The pending promise should not complete the future.");
+        v8Runtime.getExecutor("resolvePending('b')").executeVoid();
+        assertEquals("ab", pendingFuture.getNow(null));
+        // With the executor, the callers get the futures without waiting for the owner thread.
+        try (DynamicObjectExecutor executor = new DynamicObjectExecutor(v8Runtime)) {
+            factory.setExecutor(v8Runtime, executor);
+            assertEquals(3, object.add(1, 2).get());
+            executor.call(() -> {
+                v8Runtime.getExecutor("pending = new Promise(r => resolvePending = r);").executeVoid();
+                return null;
+            });
+            pendingFuture = object.fetch("c");
+            assertFalse(pendingFuture.isDone(), "The caller should not wait for the pending promise.");
+            executor.call(() -> {
+                v8Runtime.getExecutor("resolvePending('d')").executeVoid();
+                return null;
+            });
+            assertEquals("cd", pendingFuture.get());
+            factory.setExecutor(v8Runtime, null);
+            executor.call(() -> {
+                ((AutoCloseable) object).close();
+                v8Runtime.getExecutor("pending = resolvePending = undefined;").executeVoid();
+                return null;
+            });
+        }
+    }
+
+    @Test
+    public void testExecutor() throws Exception {
+        JavetReflectionObjectFactory factory = JavetReflectionObjectFactory.getInstance();
+        final int threadCount = 4;
+        final int callCount = 50;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        try (DynamicObjectExecutor executor = new DynamicObjectExecutor(v8Runtime, 8)) {
+            TestDynamicObjectForceCloseable object = executor.call(() -> {
+                try (V8ValueObject v8ValueObject = v8Runtime.getExecutor("({\n" +
+                        "  add: (a, b) => a + b,\n" +
+                        "  getName: () => $super.getName() + 'b',\n" +
+                        "})").execute()) {
+                    return (TestDynamicObjectForceCloseable) factory.toObject(
+                            TestDynamicObjectForceCloseable.class, v8ValueObject);
+                }
+            });
+            factory.setExecutor(v8Runtime, executor);
+            assertSame(executor, factory.getExecutor(v8Runtime));
+            assertSame(executor, DynamicObjectInvocationHandler.getHandler(object).getExecutor(),
+                    "The existing handlers should get the executor.");
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                final int base = i * callCount;
+                futures.add(executorService.submit(() -> {
+                    int sum = 0;
+                    for (int j = 0; j < callCount; j++) {
+                        sum += object.add(base + j, 1);
+                    }
+                    return sum;
+                }));
+            }
+            int sum = 0;
+            for (Future<Integer> future : futures) {
+                sum += future.get();
+            }
+            final int totalCallCount = threadCount * callCount;
+            assertEquals(totalCallCount * (totalCallCount - 1) / 2 + totalCallCount, sum);
+            assertTrue(executor.getExecutedCount() >= totalCallCount);
+            assertTrue(executor.getBatchCount() <= executor.getExecutedCount());
+            assertEquals("ab", object.getName());
+            assertEquals(3, (int) executor.call(() -> object.add(1, 2)), "The owner thread should call inline.");
+            factory.setExecutor(v8Runtime, null);
+            assertNull(DynamicObjectInvocationHandler.getHandler(object).getExecutor());
+            assertEquals(3, object.add(1, 2));
+            ((AutoCloseable) object).close();
+            executor.close();
+            assertTrue(executor.isClosed());
+            assertThrows(CancellationException.class, () -> executor.call(() -> 1));
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testExecutorRelease() throws Exception {
+        JavetReflectionObjectFactory factory = JavetReflectionObjectFactory.getInstance();
+        try (DynamicObjectExecutor executor = new DynamicObjectExecutor(v8Runtime)) {
+            TestDynamicObjectForceCloseable object = executor.call(() -> {
+                try (V8ValueObject v8ValueObject = v8Runtime.getExecutor("({ add: (a, b) => a + b })").execute()) {
+                    return (TestDynamicObjectForceCloseable) factory.toObject(
+                            TestDynamicObjectForceCloseable.class, v8ValueObject);
+                }
+            });
+            factory.setExecutor(v8Runtime, executor);
+            DynamicObjectInvocationHandler<?> handler = DynamicObjectInvocationHandler.getHandler(object);
+            assertNotNull(handler);
+            AtomicReference<Thread> closingThread = new AtomicReference<>();
+            handler.setCloseListener(closedHandler -> closingThread.set(Thread.currentThread()));
+            assertEquals(1, factory.release(v8Runtime));
+            assertTrue(executor.call(handler::isClosed), "The queued close should run before the next call.");
+            assertSame(executor.getOwnerThread(), closingThread.get(), "The handler should be closed on the owner thread.");
+        }
+    }
+
     @Test
     public void testExtendInterface() throws JavetException {
         MockExtend mockExtend = new MockExtend(TestInterface.class);
@@ -239,12 +721,15 @@ public class TestJavetReflectionObjectFactory {
     }
 
     public static class TestDynamicObjectAutoCloseable implements AutoCloseable {
+        protected int closeCount;
+
         public int add(int a, int b) {
             return 0;
         }
 
         @Override
         public void close() throws Exception {
+            ++closeCount;
         }
     }
 
@@ -261,6 +746,14 @@ public class TestJavetReflectionObjectFactory {
             return "a";
         }
 
+        public double getRatio() {
+            return 0;
+        }
+
+        public String join(String a, long b, boolean c, double d) {
+            return null;
+        }
+
         public int getNumber(int n) {
             return 1;
         }
@@ -277,6 +770,9 @@ public class TestJavetReflectionObjectFactory {
             return false;
         }
 
+        public void log(String message, int level) {
+        }
+
         public void setValue(int value) {
         }
     }
@@ -304,6 +800,16 @@ public class TestJavetReflectionObjectFactory {
         }
     }
 
+    public interface TestAsync {
+        CompletableFuture<Integer> add(int a, int b);
+
+        CompletionStage<Void> fail();
+
+        CompletableFuture<String> fetch(String key);
+
+        CompletableFuture<Double> getRatio();
+    }
+
     public static interface TestInterface{
         public String test();
     }
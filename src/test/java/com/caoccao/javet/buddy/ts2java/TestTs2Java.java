@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.ts2java;
+
+import com.caoccao.javet.buddy.ts2java.loader.Ts2JavaClassLoader;
+import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTs2Java extends BaseTestTs2Java {
+    protected static final int CLASS_COUNT = 16;
+
+    protected String getMultipleClassesTsCode() {
+        return IntStream.range(0, CLASS_COUNT)
+                .mapToObj(i -> "class Test" + i + " {\n" +
+                        "  public test(a: int): int {\n" +
+                        "    return a + " + i + ";\n" +
+                        "  }\n" +
+                        "}\n")
+                .collect(Collectors.joining());
+    }
+
+    @Test
+    public void testBatchLoadingWithClassLoader() throws Exception {
+        Ts2JavaClassLoader classLoader = new Ts2JavaClassLoader();
+        Ts2Java ts2Java1 = new Ts2Java("com.test1", getMultipleClassesTsCode()).setClassLoader(classLoader);
+        assertTrue(ts2Java1.isBatchLoading());
+        ts2Java1.transpile();
+        assertEquals(CLASS_COUNT, classLoader.getClassCount());
+        assertTrue(classLoader.getByteCodeSize() > 0);
+        Ts2Java ts2Java2 = new Ts2Java("com.test2", getMultipleClassesTsCode()).setClassLoader(classLoader);
+        ts2Java2.transpile();
+        assertEquals(CLASS_COUNT * 2, classLoader.getClassCount(), "The class loader should be reusable.");
+        for (Class<?> testClass : ts2Java1.getClasses()) {
+            assertSame(classLoader, testClass.getClassLoader());
+        }
+        for (Class<?> testClass : ts2Java2.getClasses()) {
+            assertSame(classLoader, testClass.getClassLoader());
+        }
+        assertSame(ts2Java1.getClasses().get(1), classLoader.loadClass("com.test1.Test1"));
+    }
+
+    @Test
+    public void testBatchLoadingWithStrategy() throws Exception {
+        Ts2Java ts2Java = new Ts2Java("com.test", getMultipleClassesTsCode())
+                .setClassLoadingStrategy(ClassLoadingStrategy.Default.WRAPPER);
+        assertTrue(ts2Java.isBatchLoading());
+        ts2Java.transpile();
+        List<Class<?>> classes = ts2Java.getClasses();
+        assertEquals(CLASS_COUNT, classes.size());
+        ClassLoader classLoader = classes.get(0).getClassLoader();
+        assertNotSame(Ts2Java.class.getClassLoader(), classLoader);
+        for (Class<?> testClass : classes) {
+            assertSame(classLoader, testClass.getClassLoader());
+        }
+    }
+
+    @Test
+    public void testParallel() throws Exception {
+        ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+        try {
+            Ts2Java ts2Java = new Ts2Java("com.test", getMultipleClassesTsCode())
+                    .setParallel(true)
+                    .setForkJoinPool(forkJoinPool);
+            ts2Java.transpile();
+            List<Class<?>> classes = ts2Java.getClasses();
+            assertEquals(CLASS_COUNT, classes.size());
+            for (int i = 0; i < CLASS_COUNT; i++) {
+                Class<?> testClass = classes.get(i);
+                assertEquals("com.test.Test" + i, testClass.getName(), "The class order should be kept.");
+                assertSame(classes.get(0).getClassLoader(), testClass.getClassLoader(),
+                        "The classes should be loaded in one batch.");
+                Object object = testClass.getConstructor().newInstance();
+                assertEquals(i + 1, testClass.getMethod("test", int.class).invoke(object, 1));
+            }
+        } finally {
+            forkJoinPool.shutdown();
+        }
+    }
+
+    @Test
+    public void testSequential() throws Exception {
+        Ts2Java ts2Java = new Ts2Java("com.test", getMultipleClassesTsCode());
+        assertFalse(ts2Java.isBatchLoading());
+        assertFalse(ts2Java.isParallel());
+        ts2Java.transpile();
+        List<Class<?>> classes = ts2Java.getClasses();
+        assertEquals(CLASS_COUNT, classes.size());
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            assertEquals("com.test.Test" + i, classes.get(i).getName());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.ts2java;
+
+import com.caoccao.javet.swc4j.enums.Swc4jMediaType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTs2JavaCompiler {
+    protected static final String TS_CODE = "class Test {\n" +
+            "  public test(a: int, b: int): int {\n" +
+            "    return a * b;\n" +
+            "  }\n" +
+            "}\n";
+
+    @Test
+    public void testConcurrentTranspile() throws Exception {
+        final int threadCount = 8;
+        Ts2JavaCompiler compiler = new Ts2JavaCompiler();
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < threadCount * 4; i++) {
+                final int value = i;
+                futures.add(executorService.submit(() -> {
+                    Ts2Java ts2Java = new Ts2Java("com.test", TS_CODE).setCompiler(compiler);
+                    ts2Java.transpile();
+                    Class<?> testClass = ts2Java.getClasses().get(0);
+                    Object object = testClass.getConstructor().newInstance();
+                    return testClass.getMethod("test", int.class, int.class).invoke(object, value, 2);
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                assertEquals(i * 2, futures.get(i).get());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testOptions() {
+        Ts2JavaCompiler compiler = new Ts2JavaCompiler();
+        assertSame(Ts2JavaCompiler.getInstance(), new Ts2Java("com.test", TS_CODE).getCompiler());
+        assertEquals(Swc4jMediaType.TypeScript, compiler.getMediaType());
+        assertFalse(compiler.isLogging());
+        compiler.setLogging(true);
+        assertTrue(compiler.isLogging());
+        assertFalse(Ts2JavaCompiler.getInstance().isLogging(), "The logging should be per compiler.");
+        String cacheKey = new Ts2Java("com.test", TS_CODE).setCompiler(compiler).getCacheKey();
+        compiler.setMediaType(Swc4jMediaType.Tsx);
+        assertEquals(Swc4jMediaType.Tsx, compiler.getMediaType());
+        assertNotEquals(
+                cacheKey,
+                new Ts2Java("com.test", TS_CODE).setCompiler(compiler).getCacheKey(),
+                "The compiler options should be part of the cache key.");
+    }
+}
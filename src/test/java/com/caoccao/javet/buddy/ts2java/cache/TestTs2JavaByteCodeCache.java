@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.ts2java.cache;
+
+import com.caoccao.javet.buddy.ts2java.Ts2Java;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTs2JavaByteCodeCache {
+    @TempDir
+    protected Path tempPath;
+
+    @Test
+    public void testCorruptedEntry() throws Exception {
+        Ts2JavaByteCodeCache byteCodeCache = new Ts2JavaByteCodeCache(tempPath);
+        byteCodeCache.put("a", new Ts2JavaByteCodes()
+                .addClassName("com.test.A")
+                .putTypeDefinition("com.test.A", new byte[]{1}));
+        Files.delete(byteCodeCache.getVersionPath().resolve("a").resolve("com.test.A.class"));
+        assertNull(byteCodeCache.get("a"));
+        assertFalse(Files.exists(byteCodeCache.getVersionPath().resolve("a")));
+        Files.createDirectories(byteCodeCache.getVersionPath().resolve("b"));
+        assertNull(byteCodeCache.get("b"), "A missing index should be treated as a miss.");
+        assertFalse(Files.exists(byteCodeCache.getVersionPath().resolve("b")));
+        assertEquals(2, byteCodeCache.getMissCount());
+    }
+
+    @Test
+    public void testPutAndGet() {
+        Ts2JavaByteCodeCache byteCodeCache = new Ts2JavaByteCodeCache(tempPath);
+        assertNull(byteCodeCache.get("a"));
+        assertEquals(1, byteCodeCache.getMissCount());
+        Ts2JavaByteCodes byteCodes = new Ts2JavaByteCodes()
+                .addClassName("com.test.B")
+                .addClassName("com.test.A")
+                .putTypeDefinition("com.test.A", "A".getBytes(StandardCharsets.UTF_8))
+                .putTypeDefinition("com.test.B", "B".getBytes(StandardCharsets.UTF_8))
+                .putTypeDefinition("com.test.B$auxiliary$1", "C".getBytes(StandardCharsets.UTF_8));
+        byteCodeCache.put("a", byteCodes);
+        Ts2JavaByteCodes cachedByteCodes = byteCodeCache.get("a");
+        assertNotNull(cachedByteCodes);
+        assertEquals(1, byteCodeCache.getHitCount());
+        assertEquals(byteCodes.getClassNames(), cachedByteCodes.getClassNames(), "Class order should be kept.");
+        assertEquals(3, cachedByteCodes.getTypeDefinitions().size());
+        assertArrayEquals(
+                "C".getBytes(StandardCharsets.UTF_8),
+                cachedByteCodes.getTypeDefinitions().get("com.test.B$auxiliary$1"));
+        byteCodeCache.clear();
+        assertNull(byteCodeCache.get("a"));
+    }
+
+    @Test
+    public void testTranspile() throws Exception {
+        String tsCode = "class Test {\n" +
+                "  public test(a: int, b: int): int {\n" +
+                "    return a + b;\n" +
+                "  }\n" +
+                "}\n";
+        Ts2JavaByteCodeCache byteCodeCache = new Ts2JavaByteCodeCache(tempPath);
+        Ts2Java ts2Java1 = new Ts2Java("com.test", tsCode).setByteCodeCache(byteCodeCache);
+        ts2Java1.transpile();
+        assertEquals(1, byteCodeCache.getMissCount());
+        Ts2Java ts2Java2 = new Ts2Java("com.test", tsCode)
+                .setByteCodeCache(new Ts2JavaByteCodeCache(tempPath));
+        ts2Java2.transpile();
+        assertEquals(1, ts2Java2.getByteCodeCache().getHitCount());
+        assertEquals(1, ts2Java2.getClasses().size());
+        Class<?> testClass = ts2Java2.getClasses().get(0);
+        assertEquals("com.test.Test", testClass.getName());
+        assertNotSame(ts2Java1.getClasses().get(0), testClass);
+        Object object = testClass.getConstructor().newInstance();
+        assertEquals(3, testClass.getMethod("test", int.class, int.class).invoke(object, 1, 2));
+    }
+
+    @Test
+    public void testVersionInvalidation() throws Exception {
+        Ts2JavaByteCodes byteCodes = new Ts2JavaByteCodes()
+                .addClassName("com.test.A")
+                .putTypeDefinition("com.test.A", new byte[]{1});
+        Path unrelatedPath = Files.createDirectories(tempPath.resolve("data"));
+        Ts2JavaByteCodeCache byteCodeCache1 = new Ts2JavaByteCodeCache(tempPath, "1");
+        byteCodeCache1.put("a", byteCodes);
+        assertTrue(Files.isDirectory(tempPath.resolve("1").resolve("a")));
+        Ts2JavaByteCodeCache byteCodeCache2 = new Ts2JavaByteCodeCache(tempPath, "2");
+        assertFalse(Files.exists(tempPath.resolve("1")), "Entries of other versions should be purged.");
+        assertTrue(Files.isDirectory(unrelatedPath), "Directories not created by the cache should be kept.");
+        assertNull(byteCodeCache2.get("a"));
+        assertEquals(tempPath.resolve("2"), byteCodeCache2.getVersionPath());
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.ts2java.cache;
+
+import com.caoccao.javet.buddy.ts2java.Ts2Java;
+import com.caoccao.javet.buddy.ts2java.loader.Ts2JavaClassLoader;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTs2JavaClassCache {
+    @Test
+    public void testHash() {
+        assertEquals(Ts2JavaCacheUtils.hash("a", "b"), Ts2JavaCacheUtils.hash("a", "b"));
+        assertNotEquals(Ts2JavaCacheUtils.hash("ab", "c"), Ts2JavaCacheUtils.hash("a", "bc"));
+        assertNotEquals(Ts2JavaCacheUtils.hash(null, "a"), Ts2JavaCacheUtils.hash("", "a"));
+        assertEquals(64, Ts2JavaCacheUtils.hash("a").length());
+    }
+
+    @Test
+    public void testLruEviction() {
+        Ts2JavaClassCache classCache = new Ts2JavaClassCache(2);
+        classCache.put("a", Collections.singletonList(String.class));
+        classCache.put("b", Collections.singletonList(Integer.class));
+        assertEquals(Collections.singletonList(String.class), classCache.get("a"));
+        classCache.put("c", Collections.singletonList(Long.class));
+        assertEquals(2, classCache.size());
+        assertEquals(1, classCache.getEvictionCount());
+        assertNull(classCache.get("b"), "The least recently used entry should be evicted.");
+        assertNotNull(classCache.get("a"));
+        assertNotNull(classCache.get("c"));
+        assertEquals(3, classCache.getHitCount());
+        assertEquals(1, classCache.getMissCount());
+        classCache.resetStatistics();
+        assertEquals(0, classCache.getHitCount());
+        classCache.clear();
+        assertEquals(0, classCache.size());
+    }
+
+    @Test
+    public void testPutIsImmutableCopy() {
+        Ts2JavaClassCache classCache = new Ts2JavaClassCache();
+        List<Class<?>> classes = Arrays.asList(String.class, Integer.class);
+        classCache.put("a", classes);
+        classes.set(0, Long.class);
+        List<Class<?>> cachedClasses = classCache.get("a");
+        assertEquals(String.class, cachedClasses.get(0));
+        assertThrows(UnsupportedOperationException.class, () -> cachedClasses.add(Long.class));
+    }
+
+    @Test
+    public void testTranspile() throws Exception {
+        String tsCode = "class Test {\n" +
+                "  public test(a: int, b: int): int {\n" +
+                "    return a + b;\n" +
+                "  }\n" +
+                "}\n";
+        Ts2JavaClassCache classCache = new Ts2JavaClassCache();
+        Ts2Java ts2Java1 = new Ts2Java("com.test", tsCode).setClassCache(classCache);
+        ts2Java1.transpile();
+        assertEquals(0, classCache.getHitCount());
+        assertEquals(1, classCache.getMissCount());
+        Ts2Java ts2Java2 = new Ts2Java("com.test", tsCode).setClassCache(classCache);
+        ts2Java2.transpile();
+        assertEquals(1, classCache.getHitCount());
+        assertEquals(1, ts2Java2.getClasses().size());
+        assertSame(ts2Java1.getClasses().get(0), ts2Java2.getClasses().get(0));
+        Ts2Java ts2Java3 = new Ts2Java("com.test2", tsCode).setClassCache(classCache);
+        ts2Java3.transpile();
+        assertEquals(2, classCache.getMissCount(), "A different package should not hit the cache.");
+        assertEquals("com.test2.Test", ts2Java3.getClasses().get(0).getName());
+        Ts2JavaClassLoader classLoader = new Ts2JavaClassLoader();
+        Ts2Java ts2Java4 = new Ts2Java("com.test", tsCode).setClassCache(classCache).setClassLoader(classLoader);
+        ts2Java4.transpile();
+        assertEquals(1, classCache.getHitCount(), "A custom class loader should bypass the class cache.");
+        assertSame(classLoader, ts2Java4.getClasses().get(0).getClassLoader());
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.ts2java.cache;
+
+import com.caoccao.javet.buddy.ts2java.Ts2Java;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTs2JavaIncrementalCache {
+    private static final String TS_CODE_A = "class A {\n" +
+            "  public test(a: int, b: int): int {\n" +
+            "    return a + b;\n" +
+            "  }\n" +
+            "}\n";
+    private static final String TS_CODE_B = "class B {\n" +
+            "  public test(a: int, b: int): int {\n" +
+            "    return a - b;\n" +
+            "  }\n" +
+            "}\n";
+    private static final String TS_CODE_B_CHANGED = "class B {\n" +
+            "  public test(a: int, b: int): int {\n" +
+            "    return a * b;\n" +
+            "  }\n" +
+            "}\n";
+
+    @Test
+    public void testGetAndPut() {
+        Ts2JavaIncrementalCache incrementalCache = new Ts2JavaIncrementalCache();
+        Ts2JavaByteCodes byteCodes = new Ts2JavaByteCodes().addClassName("com.test.A");
+        incrementalCache.put("m", "com.test.A", "1", byteCodes);
+        assertSame(byteCodes, incrementalCache.get("m", "com.test.A", "1"));
+        assertNull(incrementalCache.get("m", "com.test.A", "2"), "A different fingerprint should not hit the cache.");
+        assertNull(incrementalCache.get("n", "com.test.A", "1"), "A different module should not hit the cache.");
+        assertEquals("1", incrementalCache.getFingerprint("m", "com.test.A"));
+        assertEquals(1, incrementalCache.size());
+        incrementalCache.remove("m", "com.test.A");
+        assertNull(incrementalCache.getFingerprint("m", "com.test.A"));
+        assertEquals(0, incrementalCache.size());
+    }
+
+    @Test
+    public void testRetain() {
+        Ts2JavaIncrementalCache incrementalCache = new Ts2JavaIncrementalCache();
+        Ts2JavaByteCodes byteCodes = new Ts2JavaByteCodes();
+        incrementalCache.put("m", "com.test.A", "1", byteCodes);
+        incrementalCache.put("m", "com.test.B", "1", byteCodes);
+        incrementalCache.put("n", "com.test.C", "1", byteCodes);
+        incrementalCache.put("n", "com.test.D", "1", byteCodes);
+        assertEquals(1, incrementalCache.retain("m", Collections.singletonList("com.test.A")));
+        assertNull(incrementalCache.getFingerprint("m", "com.test.B"), "The removed class should be pruned.");
+        assertNotNull(incrementalCache.getFingerprint("n", "com.test.C"), "The other modules should be kept.");
+        assertEquals(3, incrementalCache.size());
+        assertEquals(1, incrementalCache.retain("m", Arrays.asList("com.test.A", "com.test.C")));
+        assertNull(incrementalCache.getFingerprint("n", "com.test.C"), "The moved class should leave its old module.");
+        assertNotNull(incrementalCache.getFingerprint("n", "com.test.D"));
+        assertEquals(2, incrementalCache.size());
+    }
+
+    @Test
+    public void testTranspile() throws Exception {
+        Ts2JavaIncrementalCache incrementalCache = new Ts2JavaIncrementalCache();
+        Ts2Java ts2Java1 = new Ts2Java("com.test", TS_CODE_A + TS_CODE_B).setIncrementalCache(incrementalCache);
+        ts2Java1.transpile();
+        assertEquals(Arrays.asList("com.test.A", "com.test.B"), ts2Java1.getRebuiltClassNames());
+        assertEquals(2, incrementalCache.size());
+        Ts2Java ts2Java2 = new Ts2Java("com.test", TS_CODE_A + TS_CODE_B_CHANGED)
+                .setIncrementalCache(incrementalCache);
+        ts2Java2.transpile();
+        assertEquals(Collections.singletonList("com.test.B"), ts2Java2.getRebuiltClassNames());
+        assertEquals(2, ts2Java2.getClasses().size());
+        assertEquals("com.test.A", ts2Java2.getClasses().get(0).getName());
+        assertEquals("com.test.B", ts2Java2.getClasses().get(1).getName());
+        Object b = ts2Java2.getClasses().get(1).getConstructor().newInstance();
+        assertEquals(6, ts2Java2.getClasses().get(1).getMethod("test", int.class, int.class).invoke(b, 2, 3));
+        Ts2Java ts2Java3 = new Ts2Java("com.test", TS_CODE_A + TS_CODE_B_CHANGED)
+                .setIncrementalCache(incrementalCache);
+        ts2Java3.transpile();
+        assertTrue(ts2Java3.getRebuiltClassNames().isEmpty(), "Unchanged classes should not be rebuilt.");
+        assertEquals(2, ts2Java3.getClasses().size());
+        Ts2Java ts2Java4 = new Ts2Java("com.test", TS_CODE_A).setIncrementalCache(incrementalCache);
+        ts2Java4.transpile();
+        assertEquals(1, incrementalCache.size(), "The class removed from the module should be pruned.");
+    }
+
+    @Test
+    public void testTranspileModulesSharingPackage() throws Exception {
+        Ts2JavaIncrementalCache incrementalCache = new Ts2JavaIncrementalCache();
+        for (int i = 0; i < 2; i++) {
+            Ts2Java ts2JavaA = new Ts2Java("com.test", TS_CODE_A).setIncrementalCache(incrementalCache);
+            ts2JavaA.transpile();
+            Ts2Java ts2JavaB = new Ts2Java("com.test", TS_CODE_B).setIncrementalCache(incrementalCache);
+            ts2JavaB.transpile();
+            if (i > 0) {
+                assertTrue(ts2JavaA.getRebuiltClassNames().isEmpty(), "The modules should not evict each other.");
+                assertTrue(ts2JavaB.getRebuiltClassNames().isEmpty(), "The modules should not evict each other.");
+            }
+        }
+        assertEquals(2, incrementalCache.size());
+    }
+}
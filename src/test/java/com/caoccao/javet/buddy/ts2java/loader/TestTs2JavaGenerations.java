@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2024-2025. caoccao.com Sam Cao
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.caoccao.javet.buddy.ts2java.loader;
+
+import com.caoccao.javet.buddy.ts2java.Ts2Java;
+import com.caoccao.javet.buddy.ts2java.cache.Ts2JavaClassCache;
+import com.caoccao.javet.buddy.ts2java.exceptions.Ts2JavaException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TestTs2JavaGenerations {
+    protected static final String TS_CODE = "class Test {\n" +
+            "  public test(a: int): int {\n" +
+            "    return a + 1;\n" +
+            "  }\n" +
+            "}\n";
+
+    @Test
+    public void testInvalidConfiguration() {
+        Ts2JavaGenerations generations = new Ts2JavaGenerations();
+        assertThrows(
+                Ts2JavaException.class,
+                () -> generations.load(new Ts2Java("com.test", TS_CODE).setClassCache(new Ts2JavaClassCache())));
+        assertThrows(
+                Ts2JavaException.class,
+                () -> generations.load(new Ts2Java("com.test", TS_CODE).setClassLoader(new Ts2JavaClassLoader())));
+        assertEquals(0, generations.getLiveGenerationCount());
+    }
+
+    @Test
+    public void testReloadByTheSameTs2Java() throws Exception {
+        Ts2JavaGenerations generations = new Ts2JavaGenerations();
+        Ts2Java ts2Java = new Ts2Java("com.test", TS_CODE);
+        Ts2JavaGeneration generation1 = generations.load(ts2Java);
+        Ts2JavaGeneration generation2 = generations.load(ts2Java);
+        assertNotSame(generation1.getClassLoader(), generation2.getClassLoader());
+        assertEquals(1, generation1.getClasses().size());
+        assertSame(generation1.getClassLoader(), generation1.getClasses().get(0).getClassLoader(),
+                "The classes of a generation should not change once it is published.");
+        assertSame(generation2.getClassLoader(), generation2.getClasses().get(0).getClassLoader());
+    }
+
+    @Test
+    public void testReload() throws Exception {
+        Ts2JavaGenerations generations = new Ts2JavaGenerations();
+        final int generationCount = 5;
+        for (int i = 0; i < generationCount; i++) {
+            Ts2JavaGeneration generation = generations.load("com.test", TS_CODE);
+            assertEquals(i + 1, generation.getId());
+            assertEquals(1, generation.getClasses().size());
+            Class<?> testClass = generation.getClasses().get(0);
+            assertEquals("com.test.Test", testClass.getName());
+            assertSame(generation.getClassLoader(), testClass.getClassLoader());
+            assertSame(generations.getParentClassLoader(), generation.getClassLoader().getParent());
+            assertTrue(generation.getByteCodeSize() > 0);
+            Object object = testClass.getConstructor().newInstance();
+            assertEquals(2, testClass.getMethod("test", int.class).invoke(object, 1));
+        }
+        assertTrue(generations.getLiveGenerationCount() <= generationCount);
+        assertTrue(generations.getLiveByteCodeSize() > 0);
+        for (int i = 0; i < 100 && generations.getLiveGenerationCount() > 1; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(1, generations.getLiveGenerationCount(), "Only the current generation should be alive.");
+        assertEquals(generationCount - 1, generations.getReleasedGenerationCount());
+        assertEquals(generationCount, generations.getCurrentGeneration().getId());
+        assertEquals(
+                generations.getCurrentGeneration().getByteCodeSize(),
+                generations.getLiveByteCodeSize());
+    }
+}